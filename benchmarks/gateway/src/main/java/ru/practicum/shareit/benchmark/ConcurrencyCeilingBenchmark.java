@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends a wave of {@code concurrency} simultaneous {@code GET /requests} through the running gateway
+ * and waits for all of them. The ShareIt server is a stub answering after {@code SERVER_DELAY} without holding
+ * a thread, the upstream pool is large enough for every wave, so only the gateway execution mode limits it.
+ * In the blocking mode the 200 Tomcat threads each wait for one answer, so a wave of 800 takes four server delays;
+ * in the non-blocking mode it takes one plus the CPU time of the wave. Requests per second are
+ * {@code concurrency} / wave time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConcurrencyCeilingBenchmark {
+
+    private static final Duration SERVER_DELAY = Duration.ofSeconds(1);
+
+    @Param({"blocking", "non-blocking"})
+    private String mode;
+
+    @Param({"200", "800"})
+    private int concurrency;
+
+    private DisposableServer server;
+    private ConfigurableApplicationContext gateway;
+    private HttpClient httpClient;
+    private HttpRequest[] requests;
+
+    @Setup
+    public void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> Mono.delay(SERVER_DELAY)
+                        .then(response.status(HttpStatus.OK.value())
+                                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just("[]"))
+                                .then()))
+                .bindNow();
+        gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--server.port=0",
+                        "--shareit-server.url=http://localhost:" + server.port(),
+                        "--shareit-server.http-client.mode=" + mode,
+                        "--shareit-server.http-client.max-connections=2000",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.web.reactive.function.client.ExchangeFunctions=WARN");
+        String url = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port") + "/requests";
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        requests = new HttpRequest[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            requests[i] = HttpRequest.newBuilder(URI.create(url))
+                    .header("X-Sharer-User-Id", String.valueOf(i + 1))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        gateway.close();
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public int wave() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            responses[i] = httpClient.sendAsync(requests[i], HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != HttpStatus.OK.value()) {
+                            throw new IllegalStateException("Шлюз ответил " + response.statusCode());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
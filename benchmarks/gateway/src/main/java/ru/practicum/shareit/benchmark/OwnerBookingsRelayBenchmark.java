@@ -0,0 +1,87 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.filter.BookingFilter;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.RequestCoalescingProperties;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays an unpaged {@code GET /bookings/owner} answer through {@link BookingClient}.
+ * The ShareIt server is replaced by an exchange function returning a prepared JSON array,
+ * so only the gateway side of the exchange is measured, up to the body copied out of the relayed stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OwnerBookingsRelayBenchmark {
+
+    @Param({"20", "5000"})
+    private int bookings;
+
+    private BookingClient bookingClient;
+
+    @Setup
+    public void setUp() {
+        String body = ownerBookings(bookings);
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(body)
+                        .build()));
+        bookingClient = new BookingClient("http://localhost:9090", builder,
+                new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry()),
+                new RequestCoalescer(new RequestCoalescingProperties()), new HttpClientProperties());
+    }
+
+    /**
+     * The relayed body is a stream, it is copied out the way the servlet response would, and the copied length is returned.
+     */
+    @Benchmark
+    public long ownerBookings() throws IOException {
+        ResponseEntity<Object> response = bookingClient.getBookingsOfUserItems(1, null, null, BookingFilter.ALL).block();
+        try (InputStream body = ((Resource) response.getBody()).getInputStream()) {
+            return body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static String ownerBookings(int count) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"start\":\"").append(start.plusDays(i))
+                    .append("\",\"end\":\"").append(start.plusDays(i + 1))
+                    .append("\",\"item\":{\"id\":").append(i % 100)
+                    .append(",\"name\":\"дрель ").append(i % 100)
+                    .append("\",\"description\":\"аккумуляторная дрель\",\"available\":true,\"requestId\":null}")
+                    .append(",\"booker\":{\"id\":2,\"name\":\"booker\",\"email\":\"booker@mail.ru\"}")
+                    .append(",\"status\":\"APPROVED\"}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.filter.BookingFilter;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.validator.Validator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidatorBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private UserDto user;
+    private ItemDto item;
+    private BookingDtoIn booking;
+    private List<BookingDtoIn> bookings;
+    private List<BookingApprovalDto> approvals;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        user = UserDto.builder().name("user").email("user.name@mail.ru").build();
+        item = ItemDto.builder().name("дрель").description("аккумуляторная дрель").available(true).build();
+        booking = new BookingDtoIn(1, start, start.plusDays(1));
+        bookings = new ArrayList<>(BATCH_SIZE);
+        approvals = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            bookings.add(new BookingDtoIn(i, start.plusDays(i), start.plusDays(i + 1)));
+            approvals.add(new BookingApprovalDto(i, i % 2 == 0));
+        }
+    }
+
+    @Benchmark
+    public void validateUser() {
+        Validator.validateUser(user);
+    }
+
+    @Benchmark
+    public void validateUpdateUser() {
+        Validator.validateUpdateUser(user);
+    }
+
+    @Benchmark
+    public void validateItem() {
+        Validator.validateItem(item);
+    }
+
+    @Benchmark
+    public void validateBooking() {
+        Validator.validate(booking);
+    }
+
+    @Benchmark
+    public void validateBookings() {
+        Validator.validateBookings(bookings);
+    }
+
+    @Benchmark
+    public void validateApprovals() {
+        Validator.validateApprovals(approvals);
+    }
+
+    @Benchmark
+    public boolean validatePaginationParams() {
+        return Validator.validatePaginationParams(0, 20);
+    }
+
+    @Benchmark
+    public BookingFilter validateState() {
+        return Validator.validateState("CURRENT");
+    }
+}
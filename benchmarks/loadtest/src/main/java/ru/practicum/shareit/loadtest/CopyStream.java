@@ -0,0 +1,82 @@
+package ru.practicum.shareit.loadtest;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Rows written with PostgreSQL {@code COPY ... FROM STDIN} in CSV format, flushed to the server in 1 MiB chunks.
+ * Text values are quoted with embedded quotes doubled, {@code null} values are written as empty unquoted fields,
+ * which COPY reads as NULL. Only {@link #commit()} ends the copy, closing a stream that was not committed
+ * cancels it, so a failed generation does not leave a partly copied table behind.
+ */
+class CopyStream implements AutoCloseable {
+
+    private static final int FLUSH_SIZE = 1 << 20;
+
+    private final String table;
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 4096);
+    private long rows;
+
+    CopyStream(CopyManager copyManager, String table, String columns) throws SQLException {
+        this.table = table;
+        this.copyIn = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+    }
+
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            if (values[i] instanceof CharSequence) {
+                appendQuoted((CharSequence) values[i]);
+            } else if (values[i] != null) {
+                buffer.append(values[i]);
+            }
+        }
+        buffer.append('\n');
+        rows++;
+        if (buffer.length() >= FLUSH_SIZE) {
+            flush();
+        }
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    void commit() throws SQLException {
+        flush();
+        copyIn.endCopy();
+        System.out.printf("%s: %d строк%n", table, rows);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+            System.out.printf("%s: копирование отменено%n", table);
+        }
+    }
+
+    private void appendQuoted(CharSequence value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,216 @@
+package ru.practicum.shareit.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the ShareIt PostgreSQL schema (after the Flyway migrations) with a synthetic data set of production scale.
+ * <ul>
+ *     <li>item owners, requesters, bookers and commentators are drawn from a power law over users;</li>
+ *     <li>bookings are drawn from a power law over items, so hot items get long booking histories;</li>
+ *     <li>bookings of one item never overlap, like the {@code bookings_item_period_excl} constraint requires.</li>
+ * </ul>
+ * Rows go straight to the tables with {@code COPY}, ids are assigned here and the id sequences are moved past them.
+ * The same {@code loadtest.seed} always produces the same data set.
+ * <p>
+ * Settings are system properties: {@code loadtest.jdbc-url}, {@code loadtest.jdbc-user}, {@code loadtest.jdbc-password},
+ * {@code loadtest.users}, {@code loadtest.items}, {@code loadtest.requests}, {@code loadtest.bookings},
+ * {@code loadtest.skew}, {@code loadtest.seed} and {@code loadtest.truncate}.
+ */
+public class DataGenerator {
+
+    static final String[] WORDS = {"дрель", "отвертка", "пила", "молоток", "лестница", "палатка", "велосипед", "рюкзак",
+            "аккумуляторная", "ударная", "садовая", "складная", "туристическая", "электрическая", "детский", "горный"};
+    private static final String[] TABLES = {"users", "requests", "items", "bookings", "comments"};
+    private static final long MINUTES_IN_DAY = 24 * 60;
+    private static final long HISTORY_DAYS = 730;
+    private static final long HORIZON_DAYS = 180;
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final double COMMENT_PROBABILITY = 0.2;
+    private static final double REQUEST_PROBABILITY = 0.1;
+    private static final int HOT_ITEM_ATTEMPTS = 3;
+
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int bookings;
+    private final SplittableRandom random;
+    private final ZipfSampler userSampler;
+    private final ZipfSampler itemSampler;
+    private final long now = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / 60;
+    private final int[] itemOwners;
+    private final long[] itemBookedUntil;
+
+    public DataGenerator(int users, int items, int requests, int bookings, double skew, long seed) {
+        this.users = users;
+        this.items = items;
+        this.requests = requests;
+        this.bookings = bookings;
+        this.random = new SplittableRandom(seed);
+        this.userSampler = new ZipfSampler(users, skew);
+        this.itemSampler = new ZipfSampler(items, skew);
+        this.itemOwners = new int[items + 1];
+        this.itemBookedUntil = new long[items + 1];
+    }
+
+    public static void main(String[] args) throws SQLException {
+        DataGenerator generator = new DataGenerator(
+                Integer.getInteger("loadtest.users", 100_000),
+                Integer.getInteger("loadtest.items", 1_000_000),
+                Integer.getInteger("loadtest.requests", 200_000),
+                Integer.getInteger("loadtest.bookings", 5_000_000),
+                Double.parseDouble(System.getProperty("loadtest.skew", "1.0")),
+                Long.getLong("loadtest.seed", 42L));
+        String url = System.getProperty("loadtest.jdbc-url", "jdbc:postgresql://localhost:6541/shareit");
+        String user = System.getProperty("loadtest.jdbc-user", "root");
+        String password = System.getProperty("loadtest.jdbc-password", "root");
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Connection commentConnection = DriverManager.getConnection(url, user, password)) {
+            generator.generate(connection, commentConnection, Boolean.getBoolean("loadtest.truncate"));
+        }
+    }
+
+    /**
+     * Comments are copied over a second connection while bookings are being copied,
+     * they only reference users and items, which are committed by then.
+     */
+    public void generate(Connection connection, Connection commentConnection, boolean truncate) throws SQLException {
+        prepareTables(connection, truncate);
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        long started = System.nanoTime();
+        copyUsers(copyManager);
+        copyRequests(copyManager);
+        copyItems(copyManager);
+        copyBookingsAndComments(copyManager, commentConnection.unwrap(PGConnection.class).getCopyAPI());
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.execute("SELECT setval('" + table + "_seq', COALESCE(MAX(id), 0) + " + ID_ALLOCATION_SIZE
+                        + ", false) FROM " + table);
+            }
+            statement.execute("ANALYZE");
+        }
+        System.out.printf("Генерация завершена за %d с%n", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private void prepareTables(Connection connection, boolean truncate) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (truncate) {
+                statement.execute("TRUNCATE " + String.join(", ", TABLES));
+                return;
+            }
+            for (String table : TABLES) {
+                try (ResultSet rows = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+                    rows.next();
+                    if (rows.getBoolean(1)) {
+                        throw new IllegalStateException("Таблица " + table
+                                + " не пуста, запустите с -Dloadtest.truncate=true");
+                    }
+                }
+            }
+        }
+    }
+
+    private void copyUsers(CopyManager copyManager) throws SQLException {
+        try (CopyStream copy = new CopyStream(copyManager, "users", "id, name, email")) {
+            for (int id = 1; id <= users; id++) {
+                copy.row(id, "user " + id, "user" + id + "@mail.ru");
+            }
+            copy.commit();
+        }
+    }
+
+    private void copyRequests(CopyManager copyManager) throws SQLException {
+        try (CopyStream copy = new CopyStream(copyManager, "requests", "id, description, requester_id, created")) {
+            for (int id = 1; id <= requests; id++) {
+                copy.row(id, "нужна " + text(), userSampler.sample(random),
+                        timestamp(now - random.nextLong(HISTORY_DAYS * MINUTES_IN_DAY)));
+            }
+            copy.commit();
+        }
+    }
+
+    private void copyItems(CopyManager copyManager) throws SQLException {
+        long historyStart = now - HISTORY_DAYS * MINUTES_IN_DAY;
+        try (CopyStream copy = new CopyStream(copyManager, "items",
+                "id, name, description, is_available, owner_id, request_id")) {
+            for (int id = 1; id <= items; id++) {
+                int owner = userSampler.sample(random);
+                itemOwners[id] = owner;
+                itemBookedUntil[id] = historyStart + random.nextLong(30 * MINUTES_IN_DAY);
+                Integer request = requests > 0 && random.nextDouble() < REQUEST_PROBABILITY
+                        ? 1 + random.nextInt(requests)
+                        : null;
+                copy.row(id, WORDS[random.nextInt(WORDS.length)] + " " + id, text(), random.nextInt(10) != 0, owner,
+                        request);
+            }
+            copy.commit();
+        }
+    }
+
+    private void copyBookingsAndComments(CopyManager copyManager, CopyManager commentCopyManager) throws SQLException {
+        long horizon = now + HORIZON_DAYS * MINUTES_IN_DAY;
+        int commentId = 0;
+        try (CopyStream bookingCopy = new CopyStream(copyManager, "bookings",
+                "id, start_date, end_date, item_id, booker_id, status");
+             CopyStream commentCopy = new CopyStream(commentCopyManager, "comments",
+                     "id, text, item_id, author_id, created")) {
+            for (int id = 1; id <= bookings; id++) {
+                int item = pickItem(horizon);
+                int booker = userSampler.sample(random);
+                if (booker == itemOwners[item]) {
+                    booker = booker % users + 1;
+                }
+                long start = itemBookedUntil[item] + random.nextLong(3 * MINUTES_IN_DAY);
+                long end = start + MINUTES_IN_DAY + random.nextLong(6 * MINUTES_IN_DAY);
+                itemBookedUntil[item] = end;
+                String status = status(end < now);
+                bookingCopy.row(id, timestamp(start), timestamp(end), item, booker, status);
+                if (end < now && status.equals("APPROVED") && random.nextDouble() < COMMENT_PROBABILITY) {
+                    commentCopy.row(++commentId, "Отличная вещь, " + text(), item, booker,
+                            timestamp(end + random.nextLong(MINUTES_IN_DAY)));
+                }
+            }
+            bookingCopy.commit();
+            commentCopy.commit();
+        }
+    }
+
+    /**
+     * Hot items fill up first; once an item is booked beyond the horizon another one is drawn,
+     * after a few misses a uniformly random item takes the booking.
+     */
+    private int pickItem(long horizon) {
+        for (int attempt = 0; attempt < HOT_ITEM_ATTEMPTS; attempt++) {
+            int item = itemSampler.sample(random);
+            if (itemBookedUntil[item] < horizon) {
+                return item;
+            }
+        }
+        return 1 + random.nextInt(items);
+    }
+
+    private String status(boolean past) {
+        int roll = random.nextInt(10);
+        if (past) {
+            return roll == 0 ? "REJECTED" : "APPROVED";
+        }
+        return roll < 4 ? "WAITING" : roll < 9 ? "APPROVED" : "REJECTED";
+    }
+
+    private String text() {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String timestamp(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC).toString();
+    }
+}
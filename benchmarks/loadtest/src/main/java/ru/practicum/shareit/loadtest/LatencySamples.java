@@ -0,0 +1,55 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint in nanoseconds. Every sample is kept, so percentiles are exact.
+ */
+class LatencySamples {
+
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+    private boolean sorted;
+
+    void add(long nanos, boolean error) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        if (error) {
+            errors++;
+        }
+        sorted = false;
+    }
+
+    void addAll(LatencySamples other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        errors += other.errors;
+        sorted = false;
+    }
+
+    int getCount() {
+        return size;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(values, 0, size);
+            sorted = true;
+        }
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return values[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,225 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Replays a mix of the requests from the Postman collection through the gateway against a data set
+ * made by {@link DataGenerator}, and reports p50/p99 latency per endpoint.
+ * Viewers and items are drawn with the same power law as the data set, so hot owners and hot items stay hot.
+ * Every virtual user sends its next request as soon as the previous one is answered.
+ * Only 5xx answers and failed exchanges count as errors, 4xx answers (an overlapping booking,
+ * booking an own item) are an expected part of the mix.
+ * <p>
+ * Settings are system properties: {@code loadtest.url}, {@code loadtest.users}, {@code loadtest.items},
+ * {@code loadtest.skew}, {@code loadtest.seed}, {@code loadtest.concurrency}, {@code loadtest.warmup-seconds},
+ * {@code loadtest.duration-seconds} and {@code loadtest.report} (JSON report file).
+ */
+public class WorkloadDriver {
+
+    private static final String[] STATES = {"ALL", "PAST", "CURRENT", "FUTURE", "WAITING", "REJECTED", "APPROVED"};
+    private static final String PAGE = "from=0&size=20";
+
+    private final String url;
+    private final ZipfSampler userSampler;
+    private final ZipfSampler itemSampler;
+    private final HttpClient httpClient;
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    public WorkloadDriver(String url, int users, int items, double skew) {
+        this.url = url;
+        this.userSampler = new ZipfSampler(users, skew);
+        this.itemSampler = new ZipfSampler(items, skew);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        operation("GET /items/{itemId}", 20, random -> get(user(random), "/items/" + item(random)));
+        operation("GET /items", 10, random -> get(user(random), "/items?" + PAGE));
+        operation("GET /items/search", 10, random -> get(user(random), "/items/search?" + PAGE + "&text="
+                + URLEncoder.encode(DataGenerator.WORDS[random.nextInt(DataGenerator.WORDS.length)], StandardCharsets.UTF_8)));
+        operation("GET /bookings", 15, random -> get(user(random), "/bookings?" + PAGE + "&state=" + state(random)));
+        operation("GET /bookings/owner", 15, random -> get(user(random), "/bookings/owner?" + PAGE + "&state=" + state(random)));
+        operation("GET /requests", 5, random -> get(user(random), "/requests"));
+        operation("GET /requests/all", 5, random -> get(user(random), "/requests/all?" + PAGE));
+        operation("GET /users/{userId}", 5, random -> get(user(random), "/users/" + user(random)));
+        operation("POST /items", 5, random -> post(user(random), "/items", "{\"name\":\"дрель\","
+                + "\"description\":\"аккумуляторная дрель\",\"available\":true}"));
+        operation("POST /bookings", 10, random -> {
+            LocalDateTime start = LocalDateTime.now().plusDays(200 + random.nextInt(200)).withNano(0);
+            return post(user(random), "/bookings", "{\"itemId\":" + item(random) + ",\"start\":\"" + start
+                    + "\",\"end\":\"" + start.plusDays(1 + random.nextInt(3)) + "\"}");
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        WorkloadDriver driver = new WorkloadDriver(
+                System.getProperty("loadtest.url", "http://localhost:8080"),
+                Integer.getInteger("loadtest.users", 100_000),
+                Integer.getInteger("loadtest.items", 1_000_000),
+                Double.parseDouble(System.getProperty("loadtest.skew", "1.0")));
+        int concurrency = Integer.getInteger("loadtest.concurrency", 50);
+        long seed = Long.getLong("loadtest.seed", 42L);
+        driver.run(concurrency, Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)), seed);
+        long started = System.nanoTime();
+        Map<String, LatencySamples> samples = driver.run(concurrency,
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)), seed + 1);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        Map<String, Object> report = report(samples, concurrency, seconds);
+        File reportFile = new File(System.getProperty("loadtest.report", "target/workload-report.json"));
+        if (reportFile.getParentFile() != null) {
+            reportFile.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report);
+        System.out.println("Отчет записан в " + reportFile.getAbsolutePath());
+    }
+
+    public Map<String, LatencySamples> run(int concurrency, Duration duration, long seed) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<String, LatencySamples>>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                SplittableRandom random = seeds.split();
+                workers.add(executor.submit(() -> work(random, deadline)));
+            }
+            Map<String, LatencySamples> merged = new TreeMap<>();
+            for (Future<Map<String, LatencySamples>> worker : workers) {
+                worker.get().forEach((endpoint, samples) ->
+                        merged.computeIfAbsent(endpoint, e -> new LatencySamples()).addAll(samples));
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, LatencySamples> work(SplittableRandom random, long deadline) {
+        Map<String, LatencySamples> samples = new LinkedHashMap<>();
+        while (System.nanoTime() < deadline) {
+            Operation operation = pick(random);
+            HttpRequest request = operation.request.apply(random);
+            long started = System.nanoTime();
+            boolean error;
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                error = status >= 500;
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            samples.computeIfAbsent(operation.endpoint, e -> new LatencySamples())
+                    .add(System.nanoTime() - started, error);
+        }
+        return samples;
+    }
+
+    private static Map<String, Object> report(Map<String, LatencySamples> samples, int concurrency, double seconds) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long total = 0;
+        System.out.printf("%-22s %10s %8s %10s %10s %10s%n", "endpoint", "requests", "errors", "p50, ms", "p99, ms", "max, ms");
+        for (Map.Entry<String, LatencySamples> entry : samples.entrySet()) {
+            LatencySamples endpoint = entry.getValue();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", endpoint.getCount());
+            row.put("errors", endpoint.getErrors());
+            row.put("p50Millis", endpoint.percentileMillis(50));
+            row.put("p99Millis", endpoint.percentileMillis(99));
+            row.put("maxMillis", endpoint.percentileMillis(100));
+            endpoints.put(entry.getKey(), row);
+            total += endpoint.getCount();
+            System.out.printf("%-22s %10d %8d %10.2f %10.2f %10.2f%n", entry.getKey(), endpoint.getCount(),
+                    endpoint.getErrors(), row.get("p50Millis"), row.get("p99Millis"), row.get("maxMillis"));
+        }
+        System.out.printf("%d запросов за %.1f с, %.1f запросов/с при %d виртуальных пользователях%n",
+                total, seconds, total / seconds, concurrency);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", seconds);
+        report.put("requestsPerSecond", total / seconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void operation(String endpoint, int weight, Function<SplittableRandom, HttpRequest> request) {
+        operations.add(new Operation(endpoint, weight, request));
+        totalWeight += weight;
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Нет операций в нагрузке");
+    }
+
+    private HttpRequest get(int userId, String path) {
+        return request(userId, path).GET().build();
+    }
+
+    private HttpRequest post(int userId, String path, String body) {
+        return request(userId, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(int userId, String path) {
+        return HttpRequest.newBuilder(URI.create(url + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("X-Sharer-User-Id", String.valueOf(userId));
+    }
+
+    private int user(SplittableRandom random) {
+        return userSampler.sample(random);
+    }
+
+    private int item(SplittableRandom random) {
+        return itemSampler.sample(random);
+    }
+
+    private static String state(SplittableRandom random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+
+    private static final class Operation {
+        private final String endpoint;
+        private final int weight;
+        private final Function<SplittableRandom, HttpRequest> request;
+
+        private Operation(String endpoint, int weight, Function<SplittableRandom, HttpRequest> request) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+}
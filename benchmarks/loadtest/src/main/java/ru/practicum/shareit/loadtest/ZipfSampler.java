@@ -0,0 +1,28 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ids {@code 1..n} with probability proportional to {@code 1 / id^exponent},
+ * so a handful of low ids (power users, hot items) gets most of the draws.
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int position = Arrays.binarySearch(cumulative, target);
+        return (position >= 0 ? position : -position - 1) + 1;
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Starts the ShareIt server without the web layer, by default on an in-memory H2 database.
+ * Flyway applies the common migrations plus db/vendor/h2, so PostgreSQL-only features
+ * (full-text search, the overlap constraint) are not part of the measured schema.
+ * {@link #startOnPostgres} connects to an existing PostgreSQL database given by the {@code benchmark.jdbc-url},
+ * {@code benchmark.jdbc-user} and {@code benchmark.jdbc-password} system properties instead.
+ */
+public class BenchmarkContext {
+
+    private static final String[] COMMON_PROPERTIES = {
+            "spring.jpa.properties.hibernate.generate_statistics=false",
+            "logging.level.root=WARN"
+    };
+
+    private static final String[] H2_PROPERTIES = {
+            "spring.datasource.driverClassName=org.h2.Driver",
+            "spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "shareit.search.engine=inverted-index"
+    };
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return run(H2_PROPERTIES, properties);
+    }
+
+    public static ConfigurableApplicationContext startOnPostgres(String... properties) {
+        String[] postgresProperties = {
+                "spring.datasource.driverClassName=org.postgresql.Driver",
+                "spring.datasource.url=" + System.getProperty("benchmark.jdbc-url",
+                        "jdbc:postgresql://localhost:6541/shareit"),
+                "spring.datasource.username=" + System.getProperty("benchmark.jdbc-user", "root"),
+                "spring.datasource.password=" + System.getProperty("benchmark.jdbc-password", "root")
+        };
+        return run(postgresProperties, properties);
+    }
+
+    /**
+     * Properties are passed as command line arguments, default properties would lose to application.properties.
+     * A later property replaces an earlier one with the same name, repeated arguments would be joined into a list.
+     */
+    private static ConfigurableApplicationContext run(String[] databaseProperties, String[] properties) {
+        Map<String, String> merged = new LinkedHashMap<>();
+        Stream.of(COMMON_PROPERTIES, databaseProperties, properties)
+                .flatMap(Arrays::stream)
+                .forEach(property -> merged.put(property.substring(0, property.indexOf('=')), property));
+        String[] args = merged.values().stream()
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run(args);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingRowDto;
+import ru.practicum.shareit.booking.filter.BookingFilter;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booker and owner booking lists for every filter over 2,000 bookings of one booker.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookingServiceBenchmark {
+
+    private static final int ITEMS = 200;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"ALL", "PAST", "CURRENT", "FUTURE", "WAITING", "REJECTED", "APPROVED"})
+    private BookingFilter state;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Dataset dataset;
+    private BookingCursor firstPage;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        dataset = Dataset.seed(context, ITEMS, BOOKINGS_PER_ITEM, 0);
+        bookingService = context.getBean(BookingService.class);
+        firstPage = BookingCursor.decode(null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingRowDto> userBookings() {
+        return bookingService.getUserBookings(dataset.getBookerId(), null, null, state);
+    }
+
+    @Benchmark
+    public List<BookingRowDto> userBookingsPage() {
+        return bookingService.getUserBookings(dataset.getBookerId(), 0, PAGE_SIZE, state);
+    }
+
+    @Benchmark
+    public List<BookingRowDto> userBookingsCursor() {
+        return bookingService.getUserBookings(dataset.getBookerId(), firstPage, PAGE_SIZE, state);
+    }
+
+    @Benchmark
+    public List<BookingRowDto> ownerBookingsPage() {
+        return bookingService.getBookingsOfUserItems(dataset.getOwnerId(), 0, PAGE_SIZE, state);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.event.ItemsSavedEvent;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One owner with {@code items} items and one booker who booked every item {@code bookingsPerItem} times.
+ * Bookings rotate through past, current and future periods and through every status,
+ * so each {@link ru.practicum.shareit.booking.filter.BookingFilter} has rows to return.
+ */
+@Getter
+@AllArgsConstructor
+public class Dataset {
+
+    static final String[] WORDS = {"дрель", "отвертка", "пила", "молоток", "лестница", "палатка", "велосипед", "рюкзак"};
+    private static final BookingStatus[] STATUSES = {BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.REJECTED};
+
+    private final int ownerId;
+    private final int bookerId;
+
+    public static Dataset seed(ConfigurableApplicationContext context, int items, int bookingsPerItem, int commentsPerItem) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            User owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+            User booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+            List<Item> itemList = new ArrayList<>(items);
+            for (int i = 0; i < items; i++) {
+                itemList.add(new Item(null,
+                        WORDS[i % WORDS.length] + " " + i,
+                        WORDS[(i + 3) % WORDS.length] + " и " + WORDS[(i + 5) % WORDS.length],
+                        i % 5 != 0,
+                        owner,
+                        null));
+            }
+            itemList = itemRepository.saveAll(itemList);
+            List<Booking> bookings = new ArrayList<>(items * bookingsPerItem);
+            List<Comment> comments = new ArrayList<>(items * commentsPerItem);
+            for (Item item : itemList) {
+                for (int j = 0; j < bookingsPerItem; j++) {
+                    LocalDateTime start = now.plusDays(10L * (j - bookingsPerItem / 2)).minusDays(1);
+                    bookings.add(new Booking(null, start, start.plusDays(2), item, booker, STATUSES[j % STATUSES.length]));
+                }
+                for (int j = 0; j < commentsPerItem; j++) {
+                    comments.add(new Comment(null, "комментарий " + j, item, booker, now.minusDays(j)));
+                }
+            }
+            bookingRepository.saveAll(bookings);
+            commentRepository.saveAll(comments);
+            context.publishEvent(new ItemsSavedEvent(itemList));
+            return new Dataset(owner.getId(), booker.getId());
+        });
+    }
+}
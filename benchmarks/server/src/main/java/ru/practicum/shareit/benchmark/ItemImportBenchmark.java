@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemImportService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of the bulk import, reported in imported rows per second.
+ * Items are deleted after every iteration, so each iteration starts from the same table size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ItemImportBenchmark {
+
+    private static final int ROWS = 5000;
+
+    private ConfigurableApplicationContext context;
+    private ItemImportService itemImportService;
+    private ItemRepository itemRepository;
+    private int ownerId;
+    private byte[] ndjson;
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        ownerId = Dataset.seed(context, 0, 0, 0).getOwnerId();
+        itemImportService = context.getBean(ItemImportService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        StringBuilder ndjsonRows = new StringBuilder();
+        StringBuilder csvRows = new StringBuilder("name,description,available\n");
+        for (int i = 0; i < ROWS; i++) {
+            String name = Dataset.WORDS[i % Dataset.WORDS.length] + " " + i;
+            ndjsonRows.append("{\"name\":\"").append(name)
+                    .append("\",\"description\":\"описание ").append(i)
+                    .append("\",\"available\":true}\n");
+            csvRows.append(name).append(",описание ").append(i).append(",true\n");
+        }
+        ndjson = ndjsonRows.toString().getBytes(StandardCharsets.UTF_8);
+        csv = csvRows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteItems() {
+        itemRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ItemImportResultDto importNdjson() {
+        return itemImportService.importItems(ownerId, ItemImportFormat.NDJSON, new ByteArrayInputStream(ndjson));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ItemImportResultDto importCsv() {
+        return itemImportService.importItems(ownerId, ItemImportFormat.CSV, new ByteArrayInputStream(csv));
+    }
+}
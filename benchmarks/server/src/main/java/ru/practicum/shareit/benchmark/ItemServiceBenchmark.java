@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private int ownerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        ownerId = Dataset.seed(context, items, 5, 3).getOwnerId();
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBookingsAndComments> viewerItems() {
+        return itemService.getViewerItems(ownerId, null, null);
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBookingsAndComments> viewerItemsPage() {
+        return itemService.getViewerItems(ownerId, 0, 20);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingRowDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    @Param({"20", "500", "5000"})
+    private int size;
+
+    private List<BookingRowDto> bookingRows;
+    private List<Item> items;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1, "owner", "owner@mail.ru");
+        User booker = new User(2, "booker", "booker@mail.ru");
+        ItemRequest request = new ItemRequest(1, "нужна дрель", booker, now);
+        bookingRows = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item item = new Item(i, "дрель " + i, "аккумуляторная дрель " + i, i % 5 != 0, owner,
+                    i % 3 == 0 ? request : null);
+            items.add(item);
+            ItemRequest itemRequest = item.getRequest();
+            bookingRows.add(new BookingRowDto(i, now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED,
+                    item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                    itemRequest != null ? itemRequest.getId() : null,
+                    itemRequest != null ? itemRequest.getDescription() : null,
+                    itemRequest != null ? itemRequest.getCreated() : null,
+                    itemRequest != null ? booker.getId() : null,
+                    itemRequest != null ? booker.getName() : null,
+                    itemRequest != null ? booker.getEmail() : null,
+                    booker.getId(), booker.getName(), booker.getEmail()));
+            comments.add(new Comment(i, "комментарий " + i, item, booker, now.minusHours(i)));
+        }
+    }
+
+    @Benchmark
+    public List<BookingDtoOut> bookingRows() {
+        return BookingMapper.map(bookingRows);
+    }
+
+    @Benchmark
+    public List<ItemDto> items() {
+        return ItemMapper.map(items);
+    }
+
+    @Benchmark
+    public List<CommentDto> comments() {
+        return CommentMapper.map(comments);
+    }
+
+    @Benchmark
+    public ItemDtoWithBookingsAndComments itemWithComments() {
+        return ItemMapper.map(items.get(0), CommentMapper.map(comments));
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of an item search on PostgreSQL for every search engine, including full-text.
+ * Runs against the data set of the load test generator (1,000,000 items by default),
+ * which has to be generated into the database beforehand, see README.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PostgresSearchBenchmark {
+
+    private static final int VIEWER_ID = 1;
+
+    @Param({"full-text", "inverted-index", "like"})
+    private String engine;
+
+    @Param({"дрель", "аккумуляторные дрели", "садов"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.startOnPostgres("shareit.search.engine=" + engine);
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> search() {
+        return itemService.search(text, 0, 20, VIEWER_ID);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of an item search over 10,000 items on H2, where full-text search is not available.
+ * {@link PostgresSearchBenchmark} compares all engines on PostgreSQL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SearchBenchmark {
+
+    private static final int ITEMS = 10_000;
+
+    @Param({"like", "inverted-index"})
+    private String engine;
+
+    @Param({"дрель", "пила 7"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private int viewerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("shareit.search.engine=" + engine);
+        viewerId = Dataset.seed(context, ITEMS, 0, 0).getOwnerId();
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> search() {
+        return itemService.search(text, 0, 20, viewerId);
+    }
+}
@@ -2,15 +2,19 @@ package ru.practicum.shareit.booking.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.filter.BookingFilter;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.util.List;
 import java.util.Map;
 
 import static ru.practicum.shareit.validator.Validator.validatePaginationParams;
@@ -20,32 +24,47 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         WebClient.Builder builder,
+                         ResponseCache responseCache,
+                         RequestCoalescer requestCoalescer,
+                         HttpClientProperties httpClientProperties) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                httpClientProperties.getMode()
         );
     }
 
 
-    public ResponseEntity<Object> addBooking(int bookerId, BookingDtoIn bookingDtoIn) {
+    public Mono<ResponseEntity<Object>> addBooking(int bookerId, BookingDtoIn bookingDtoIn) {
         return post("", bookerId, bookingDtoIn);
     }
 
-    public ResponseEntity<Object> getBooking(int viewerId, int bookingId) {
-        return get("/" + bookingId, viewerId);
+    public Mono<ResponseEntity<Object>> addBookings(int bookerId, List<BookingDtoIn> bookingDtoIns) {
+        return post("/batch", bookerId, bookingDtoIns);
     }
 
-    public ResponseEntity<Object> updateBooking(int viewerId, boolean approved, int bookingId) {
+    public Mono<ResponseEntity<Object>> updateBookings(int viewerId, List<BookingApprovalDto> approvals) {
+        return patch("/approvals", viewerId, approvals);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(int viewerId, int bookingId) {
+        return getById("/" + bookingId, viewerId);
+    }
+
+    public Mono<ResponseEntity<Object>> updateBooking(int viewerId, boolean approved, int bookingId) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
         return patch("/" + bookingId + "?approved={approved}", viewerId, parameters, null);
     }
 
-    public ResponseEntity<Object> getUserBookings(int viewerId, Integer from, Integer size, BookingFilter state) {
+    public Mono<ResponseEntity<Object>> getUserBookings(int viewerId, Integer from, Integer size, BookingFilter state) {
         Map<String, Object> parameters;
         if (validatePaginationParams(from, size)) {
              parameters = Map.of(
@@ -59,7 +78,16 @@ public class BookingClient extends BaseClient {
         return get("?state={state}", viewerId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsOfUserItems(int viewerId, Integer from, Integer size, BookingFilter state) {
+    public Mono<ResponseEntity<Object>> getUserBookings(int viewerId, String cursor, int size, BookingFilter state) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", viewerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsOfUserItems(int viewerId, Integer from, Integer size, BookingFilter state) {
         Map<String, Object> parameters;
         if (validatePaginationParams(from, size)) {
              parameters = Map.of(
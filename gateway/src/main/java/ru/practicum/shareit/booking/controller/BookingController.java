@@ -3,12 +3,19 @@ package ru.practicum.shareit.booking.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.filter.BookingFilter;
 
+import java.util.List;
+
 import static ru.practicum.shareit.common.Header.X_SHARER_USER_ID;
 import static ru.practicum.shareit.validator.Validator.validate;
+import static ru.practicum.shareit.validator.Validator.validateApprovals;
+import static ru.practicum.shareit.validator.Validator.validateBookings;
+import static ru.practicum.shareit.validator.Validator.validateCursorParams;
 import static ru.practicum.shareit.validator.Validator.validateState;
 
 @RestController
@@ -19,39 +26,58 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@PostMapping
-	public ResponseEntity<Object> add(@RequestHeader(name = X_SHARER_USER_ID) int bookerId,
-									  @RequestBody BookingDtoIn bookingDtoIn) {
+	public Mono<ResponseEntity<Object>> add(@RequestHeader(name = X_SHARER_USER_ID) int bookerId,
+									        @RequestBody BookingDtoIn bookingDtoIn) {
 		validate(bookingDtoIn);
 		return bookingClient.addBooking(bookerId, bookingDtoIn);
 	}
 
+	@PostMapping("/batch")
+	public Mono<ResponseEntity<Object>> addAll(@RequestHeader(name = X_SHARER_USER_ID) int bookerId,
+											   @RequestBody List<BookingDtoIn> bookingDtoIns) {
+		validateBookings(bookingDtoIns);
+		return bookingClient.addBookings(bookerId, bookingDtoIns);
+	}
+
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> get(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
-									  @PathVariable int bookingId) {
+	public Mono<ResponseEntity<Object>> get(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
+									        @PathVariable int bookingId) {
 		return bookingClient.getBooking(viewerId, bookingId);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> update(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
-										 @RequestParam boolean approved,
-										 @PathVariable int bookingId) {
+	public Mono<ResponseEntity<Object>> update(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
+										       @RequestParam boolean approved,
+										       @PathVariable int bookingId) {
 		return bookingClient.updateBooking(viewerId, approved, bookingId);
 	}
 
+	@PatchMapping("/approvals")
+	public Mono<ResponseEntity<Object>> updateAll(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
+												  @RequestBody List<BookingApprovalDto> approvals) {
+		validateApprovals(approvals);
+		return bookingClient.updateBookings(viewerId, approvals);
+	}
+
 	@GetMapping
-	public ResponseEntity<Object> getUserBookings(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
-												  @RequestParam(required = false) Integer from,
-												  @RequestParam(required = false) Integer size,
-												  @RequestParam(defaultValue = "ALL") String state) {
+	public Mono<ResponseEntity<Object>> getUserBookings(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
+												        @RequestParam(required = false) Integer from,
+												        @RequestParam(required = false) Integer size,
+												        @RequestParam(required = false) String cursor,
+												        @RequestParam(defaultValue = "ALL") String state) {
 		BookingFilter filter = validateState(state);
+		if (cursor != null) {
+			validateCursorParams(from, size);
+			return bookingClient.getUserBookings(viewerId, cursor, size, filter);
+		}
 		return bookingClient.getUserBookings(viewerId, from, size, filter);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getBookingsOfUserItems(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
-														 @RequestParam(required = false) Integer from,
-														 @RequestParam(required = false) Integer size,
-														 @RequestParam(defaultValue = "ALL") String state) {
+	public Mono<ResponseEntity<Object>> getBookingsOfUserItems(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
+														       @RequestParam(required = false) Integer from,
+														       @RequestParam(required = false) Integer size,
+														       @RequestParam(defaultValue = "ALL") String state) {
 		BookingFilter filter = validateState(state);
 		return bookingClient.getBookingsOfUserItems(viewerId, from, size, filter);
 	}
@@ -1,100 +1,234 @@
 package ru.practicum.shareit.client;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
-import org.springframework.http.HttpEntity;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClientRequest;
 
 import static ru.practicum.shareit.common.Header.X_SHARER_USER_ID;
 
 public abstract class BaseClient {
-    protected final RestTemplate rest;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+    private static final int STREAM_CHUNK_SIZE = 64 * 1024;
+    private static final int STREAM_PREFETCH = 4;
 
-    public BaseClient(RestTemplate rest) {
+    protected final WebClient rest;
+    private final String family;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final HttpClientProperties.Mode mode;
+
+    public BaseClient(WebClient rest, String family, ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                      HttpClientProperties.Mode mode) {
         this.rest = rest;
+        this.family = family;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.mode = mode;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, int userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, int userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Integer userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Integer userId, @Nullable Map<String, Object> parameters) {
+        return await(makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, false));
+    }
+
+    /**
+     * GET joined with identical requests in flight by {@link RequestCoalescer}. Every waiter gets the same
+     * response, so its body is buffered instead of streamed; meant for small answers under thundering-herd load.
+     */
+    protected Mono<ResponseEntity<Object>> getCoalesced(String path, Integer userId, @Nullable Map<String, Object> parameters) {
+        String key = ResponseCache.key(family, path, userId, parameters);
+        return await(requestCoalescer.execute(key,
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, true)));
+    }
+
+    /**
+     * GET of a single resource that may be answered from {@link ResponseCache}, the body is buffered to be cached.
+     * Lists and searches go through {@link #get} or {@link #getCoalesced} instead,
+     * a write can only invalidate what it knows has changed.
+     */
+    protected Mono<ResponseEntity<Object>> getById(String path, @Nullable Integer userId) {
+        return getById(path, userId, response -> false);
+    }
+
+    /**
+     * {@code timeDependent} tells the responses that may change without a write, they are cached only briefly.
+     */
+    protected Mono<ResponseEntity<Object>> getById(String path, @Nullable Integer userId,
+                                                   Predicate<ResponseEntity<Object>> timeDependent) {
+        String key = ResponseCache.key(family, path, userId, null);
+        return await(responseCache.get(family, key, () -> requestCoalescer.execute(key,
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, null, null, true)), timeDependent));
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, int userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, int userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Integer userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Integer userId, @Nullable Map<String, Object> parameters, T body) {
+        return await(makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, false));
+    }
+
+    /**
+     * Streams the body to the ShareIt server as it is read, nothing is buffered beyond a single chunk.
+     * The server answers only after the whole body is processed, so the shared client's response timeout
+     * is replaced with {@code responseTimeout} for this request.
+     */
+    protected Mono<ResponseEntity<Object>> postStream(String path, int userId, MediaType contentType, MediaType accept,
+                                                      InputStream body, Duration responseTimeout) {
+        Flux<DataBuffer> content = DataBufferUtils.readInputStream(() -> body, DefaultDataBufferFactory.sharedInstance, STREAM_CHUNK_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        WebClient.RequestHeadersSpec<?> request = rest.post()
+                .uri(path)
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    headers.setContentType(contentType);
+                    headers.setAccept(List.of(accept));
+                })
+                .httpRequest(httpRequest -> ((HttpClientRequest) httpRequest.getNativeRequest()).responseTimeout(responseTimeout))
+                .body(BodyInserters.fromDataBuffers(content));
+        return await(exchange(HttpMethod.POST, request, false));
     }
 
-    protected <T> ResponseEntity<Object> put(String path, int userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, int userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, int userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> put(String path, int userId, @Nullable Map<String, Object> parameters, T body) {
+        return await(makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, false));
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, int userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, int userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, int userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, int userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Integer userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Integer userId, @Nullable Map<String, Object> parameters, T body) {
+        return await(makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, false));
     }
 
-    protected void delete(String path) {
-        delete(path, null, null);
+    /**
+     * The answer is dropped, so it is read in full to release the connection.
+     */
+    protected Mono<Void> delete(String path) {
+        return await(makeAndSendRequest(HttpMethod.DELETE, path, null, null, null, true)).then();
     }
 
-    protected ResponseEntity<Object> delete(String path, int userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, int userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Integer userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> delete(String path, Integer userId, @Nullable Map<String, Object> parameters) {
+        return await(makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, false));
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Integer userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    /**
+     * Relays the ShareIt server response as raw bytes: status, body and end-to-end headers are passed
+     * to the caller unchanged, so JSON is never parsed and re-serialized on the gateway.
+     * Unless {@code buffered}, the body is not read here but streamed to the caller chunk by chunk through a {@link DataBufferInputStream},
+     * only a few chunks of a large answer are held in memory at a time.
+     * The exchange is non-blocking, no servlet thread waits for the server while the request is in flight.
+     */
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Integer userId,
+                                                                @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                                boolean buffered) {
+        WebClient.RequestBodySpec requestSpec = rest.method(method)
+                .uri(path, parameters != null ? parameters : Collections.emptyMap())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> request = body != null ? requestSpec.bodyValue(body) : requestSpec;
+        return exchange(method, request, buffered);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private Mono<ResponseEntity<Object>> exchange(HttpMethod method, WebClient.RequestHeadersSpec<?> request, boolean buffered) {
+        Mono<ResponseEntity<Object>> response;
+        if (buffered) {
+            response = request.exchangeToMono(serverResponse -> serverResponse.toEntity(byte[].class))
+                    .map(serverResponse -> prepareGatewayResponse(serverResponse.getStatusCode(), serverResponse.getHeaders(),
+                            serverResponse.getBody() != null && serverResponse.getBody().length > 0 ? serverResponse.getBody() : null));
+        } else {
+            response = request.retrieve()
+                    .onStatus(status -> true, serverResponse -> Mono.empty())
+                    .toEntityFlux(DataBuffer.class)
+                    .map(serverResponse -> prepareGatewayResponse(serverResponse.getStatusCode(), serverResponse.getHeaders(),
+                            streamedBody(serverResponse.getHeaders(), serverResponse.getBody())));
+        }
+        if (method != HttpMethod.GET) {
+            return response.doFinally(signal -> responseCache.invalidate(family));
+        }
+        return response;
+    }
+
+    /**
+     * {@link InputStreamResource} exactly, not a subclass, is written by {@code ResourceHttpMessageConverter}
+     * without asking for its length and without HTTP range support, so the body is copied to the caller as it arrives.
+     * A server answer without content is drained right away and relayed without a body.
+     */
+    @Nullable
+    private static Object streamedBody(HttpHeaders serverHeaders, @Nullable Flux<DataBuffer> body) {
+        if (body == null) {
+            return null;
+        }
+        if (serverHeaders.getContentLength() == 0 || serverHeaders.getContentType() == null) {
+            body.subscribe(DataBufferUtils::release);
+            return null;
+        }
+        return new InputStreamResource(new DataBufferInputStream(body, STREAM_PREFETCH));
+    }
+
+    /**
+     * In {@link HttpClientProperties.Mode#BLOCKING} the calling servlet thread waits for the answer,
+     * like it did with {@code RestTemplate}, so gateway concurrency is capped by the servlet thread pool again.
+     */
+    private <T> Mono<T> await(Mono<T> response) {
+        if (mode != HttpClientProperties.Mode.BLOCKING) {
+            return response;
+        }
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return Mono.justOrEmpty(response.block());
+        } catch (RuntimeException e) {
+            return Mono.error(e);
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
     private HttpHeaders defaultHeaders(Integer userId) {
@@ -107,15 +241,19 @@ public abstract class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders serverHeaders, @Nullable Object body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    responseBuilder.header(name, values.toArray(String[]::new));
+                }
+            });
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Reads a relayed response body chunk by chunk as the ShareIt server sends it.
+ * The body is subscribed to only on the first read, which happens on the servlet thread writing the response,
+ * and at most {@code prefetch} chunks are requested ahead of the reader. Closing the stream before the end
+ * cancels the exchange, so the connection is not left with an unread body.
+ */
+class DataBufferInputStream extends InputStream {
+
+    private final Flux<DataBuffer> body;
+    private final int prefetch;
+    private Stream<DataBuffer> chunks;
+    private Iterator<DataBuffer> iterator;
+    private InputStream current = InputStream.nullInputStream();
+    private boolean closed;
+
+    DataBufferInputStream(Flux<DataBuffer> body, int prefetch) {
+        this.body = body;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            int read = current.read(b, off, len);
+            if (read != -1) {
+                return read;
+            }
+            current.close();
+            if (!nextChunk()) {
+                return -1;
+            }
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return closed ? 0 : current.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        current.close();
+        if (chunks == null) {
+            chunks = subscribe(1);
+        }
+        chunks.close();
+    }
+
+    private boolean nextChunk() {
+        if (iterator == null) {
+            chunks = subscribe(prefetch);
+            iterator = chunks.iterator();
+        }
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        current = iterator.next().asInputStream(true);
+        return true;
+    }
+
+    private Stream<DataBuffer> subscribe(int batchSize) {
+        return body.doOnDiscard(DataBuffer.class, DataBufferUtils::release).toStream(batchSize);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the connection pool shared by every {@link BaseClient}.
+ * The gateway talks to a single ShareIt server, so the pool size is the per-route limit as well.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+
+    private Mode mode = Mode.NON_BLOCKING;
+    private int maxConnections = 200;
+    private int maxPendingAcquires = 10_000;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    /**
+     * Response timeout of item imports instead of {@code readTimeout}, the server answers once the whole file is saved.
+     */
+    private Duration importTimeout = Duration.ofMinutes(30);
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration idleEvictionTimeout = Duration.ofSeconds(60);
+
+    public enum Mode {
+        /**
+         * Requests in flight hold a pooled connection and an event loop slot, the servlet thread is released.
+         */
+        NON_BLOCKING,
+        /**
+         * The servlet thread waits for the ShareIt server, kept as the baseline for load tests.
+         */
+        BLOCKING
+    }
+}
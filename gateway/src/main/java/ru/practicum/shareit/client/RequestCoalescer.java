@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for GET requests: while a request for a key is in flight, identical requests subscribe
+ * to it instead of calling the ShareIt server again, and everybody gets the same response.
+ * Keys include {@code X-Sharer-User-Id}, so only requests of the same viewer are ever joined.
+ * A follower gives up with a {@link java.util.concurrent.TimeoutException} after {@code max-wait},
+ * the upstream call itself keeps going for the remaining waiters. The caller that started the flight
+ * is bound only by the HTTP client timeouts.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(RequestCoalescingProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.maxWait = properties.getMaxWait();
+    }
+
+    public Mono<ResponseEntity<Object>> execute(String key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return Mono.defer(() -> {
+            AtomicBoolean leader = new AtomicBoolean();
+            Mono<ResponseEntity<Object>> flight = inFlight.computeIfAbsent(key, k -> {
+                leader.set(true);
+                return newFlight(k, loader);
+            });
+            return leader.get() ? flight : flight.timeout(maxWait);
+        });
+    }
+
+    private Mono<ResponseEntity<Object>> newFlight(String key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        AtomicReference<Mono<ResponseEntity<Object>>> flight = new AtomicReference<>();
+        flight.set(loader.get()
+                .doFinally(signal -> inFlight.remove(key, flight.get()))
+                .cache());
+        return flight.get();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of collapsing identical in-flight GET requests into one upstream call.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.single-flight")
+public class RequestCoalescingProperties {
+
+    private boolean enabled = true;
+    private Duration maxWait = Duration.ofSeconds(5);
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caches successful by-id GET responses of the ShareIt server per resource family, i.e. the API prefix of a client.
+ * Keys combine the family, the viewer from {@code X-Sharer-User-Id} and the expanded path with query.
+ * Every family has a cache of its own, a proxied POST, PATCH, PUT or DELETE empties the caches of the family
+ * and of the families whose responses embed it: a booking changes item bookings, an item changes request answers,
+ * a user owns everything. Responses the caller marks as time-dependent, like an item seen by its owner with
+ * the last and next bookings, live only for {@code time-dependent-ttl}, since they change without any write.
+ */
+@Component
+public class ResponseCache {
+
+    private static final String CACHE_NAME = "gatewayResponses";
+    private static final Map<String, Set<String>> AFFECTED_FAMILIES = Map.of(
+            "/bookings", Set.of("/bookings", "/items"),
+            "/items", Set.of("/items", "/requests", "/bookings"),
+            "/requests", Set.of("/requests"),
+            "/users", Set.of("/users", "/items", "/requests", "/bookings"));
+
+    private final boolean enabled;
+    private final Map<String, Cache<String, Entry>> caches = new HashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        for (String family : properties.getFamilies()) {
+            Cache<String, Entry> cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxSize())
+                    .expireAfter(new EntryExpiry(properties.getTtl(), properties.getTimeDependentTtl()))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME, "family", family);
+            caches.put(family, cache);
+        }
+    }
+
+    public Mono<ResponseEntity<Object>> get(String family, String key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        return get(family, key, loader, response -> false);
+    }
+
+    public Mono<ResponseEntity<Object>> get(String family, String key, Supplier<Mono<ResponseEntity<Object>>> loader,
+                                            Predicate<ResponseEntity<Object>> timeDependent) {
+        Cache<String, Entry> cache = caches.get(family);
+        if (!enabled || cache == null) {
+            return loader.get();
+        }
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached.response);
+        }
+        long generation = generation(family).get();
+        return loader.get().doOnNext(response -> {
+            if (response.getStatusCode().is2xxSuccessful() && generation(family).get() == generation) {
+                cache.put(key, new Entry(response, timeDependent.test(response)));
+            }
+        });
+    }
+
+    public void invalidate(String family) {
+        if (!enabled) {
+            return;
+        }
+        for (String affected : AFFECTED_FAMILIES.getOrDefault(family, Set.of(family))) {
+            generation(affected).incrementAndGet();
+            Cache<String, Entry> cache = caches.get(affected);
+            if (cache != null) {
+                cache.invalidateAll();
+            }
+        }
+    }
+
+    private AtomicLong generation(String family) {
+        return generations.computeIfAbsent(family, f -> new AtomicLong());
+    }
+
+    /**
+     * Identity of a GET request, shared by the cache and {@link RequestCoalescer}.
+     */
+    public static String key(String family, String path, @Nullable Integer userId, @Nullable Map<String, Object> parameters) {
+        String uri = UriComponentsBuilder.fromUriString(path)
+                .buildAndExpand(parameters != null ? parameters : Collections.emptyMap())
+                .toUriString();
+        return family + ' ' + userId + ' ' + uri;
+    }
+
+    private static final class Entry {
+        private final ResponseEntity<Object> response;
+        private final boolean timeDependent;
+
+        private Entry(ResponseEntity<Object> response, boolean timeDependent) {
+            this.response = response;
+            this.timeDependent = timeDependent;
+        }
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+        private final long ttlNanos;
+        private final long timeDependentTtlNanos;
+
+        private EntryExpiry(Duration ttl, Duration timeDependentTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.timeDependentTtlNanos = timeDependentTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.timeDependent ? timeDependentTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of the gateway cache of successful GET responses.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    /**
+     * Entries per family.
+     */
+    private long maxSize = 10_000;
+    private Duration ttl = Duration.ofSeconds(30);
+    /**
+     * TTL of responses that change with time, not only with writes: an item seen by its owner with the last
+     * and next bookings.
+     */
+    private Duration timeDependentTtl = Duration.ofSeconds(2);
+    /**
+     * Families whose by-id responses are cached.
+     */
+    private List<String> families = List.of("/items", "/bookings", "/requests", "/users");
+}
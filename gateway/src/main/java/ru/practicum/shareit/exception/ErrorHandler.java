@@ -1,6 +1,8 @@
 package ru.practicum.shareit.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -8,20 +10,41 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.exception.model.ValidationException;
 
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Every handled exception is counted as {@code shareit.errors} by type and status.
+ * Rejected requests are logged by message only and rate-limited per type, unexpected errors with the full trace.
+ */
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final ErrorLogLimiter logLimiter;
+
+    public ErrorHandler(MeterRegistry meterRegistry, @Value("${shareit.errors.log-interval}") Duration logInterval) {
+        this.meterRegistry = meterRegistry;
+        this.logLimiter = new ErrorLogLimiter(logInterval);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ExceptionResponse handleInvalidRequestBodyException(final ValidationException e) {
-        log.warn(e.getMessage(), e);
-        return new ExceptionResponse(e.getMessage());
+        return handleExpected(e, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ExceptionResponse handleInvalidMethodArgumentException(final MethodArgumentNotValidException e) {
+        return handleExpected(e, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ExceptionResponse handleTimeoutException(final TimeoutException e) {
+        count(e, HttpStatus.GATEWAY_TIMEOUT);
         log.warn(e.getMessage(), e);
         return new ExceptionResponse(e.getMessage());
     }
@@ -29,7 +52,23 @@ public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ExceptionResponse handleThrowable(final Throwable e) {
+        count(e, HttpStatus.INTERNAL_SERVER_ERROR);
         log.warn(e.getMessage(), e);
         return new ExceptionResponse(e.getMessage());
     }
+
+    private ExceptionResponse handleExpected(Exception e, HttpStatus status) {
+        count(e, status);
+        long heldBack = logLimiter.tryAcquire(e.getClass());
+        if (heldBack >= 0) {
+            log.warn("{}: {} (пропущено похожих: {})", e.getClass().getSimpleName(), e.getMessage(), heldBack);
+        }
+        return new ExceptionResponse(e.getMessage());
+    }
+
+    private void count(Throwable e, HttpStatus status) {
+        meterRegistry.counter("shareit.errors",
+                "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
 }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.exception.model;
 
+/**
+ * Request rejected by the gateway before it reaches the server. Created without a stack trace.
+ */
 public class ValidationException extends RuntimeException {
     public ValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
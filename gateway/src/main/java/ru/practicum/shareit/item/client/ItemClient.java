@@ -1,17 +1,28 @@
 package ru.practicum.shareit.item.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.validator.Validator.validatePaginationParams;
 
@@ -19,26 +30,65 @@ import static ru.practicum.shareit.validator.Validator.validatePaginationParams;
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Duration importTimeout;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      WebClient.Builder builder,
+                      ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer,
+                      HttpClientProperties httpClientProperties) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                httpClientProperties.getMode()
         );
+        this.importTimeout = httpClientProperties.getImportTimeout();
     }
 
 
-    public ResponseEntity<Object> addItem(ItemDto itemDto, int ownerId) {
+    public Mono<ResponseEntity<Object>> addItem(ItemDto itemDto, int ownerId) {
         return post("", ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(int itemId, int viewerId) {
-        return get("/" + itemId, viewerId);
+    public Mono<ResponseEntity<Object>> importItems(int ownerId, MediaType contentType, InputStream body) {
+        return importItems(ownerId, contentType, MediaType.APPLICATION_JSON, body);
+    }
+
+    /**
+     * With {@code application/x-ndjson} accepted the server answers with a progress line per batch.
+     */
+    public Mono<ResponseEntity<Object>> importItems(int ownerId, MediaType contentType, MediaType accept, InputStream body) {
+        return postStream("/import", ownerId, contentType, accept, body, importTimeout);
+    }
+
+    public Mono<ResponseEntity<Object>> getItem(int itemId, int viewerId) {
+        return getById("/" + itemId, viewerId, ItemClient::showsBookings);
+    }
+
+    /**
+     * Only the owner sees the last and next bookings, they move with time, so such a view is time-dependent.
+     * Without them the item changes only with writes, which empty the cache.
+     */
+    private static boolean showsBookings(ResponseEntity<Object> response) {
+        if (!(response.getBody() instanceof byte[])) {
+            return false;
+        }
+        try {
+            JsonNode item = OBJECT_MAPPER.readTree((byte[]) response.getBody());
+            return item.hasNonNull("lastBooking") || item.hasNonNull("nextBooking");
+        } catch (IOException e) {
+            return true;
+        }
     }
 
-    public ResponseEntity<Object> getViewerItems(int viewerId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getViewerItems(int viewerId, Integer from, Integer size) {
         if (validatePaginationParams(from, size)) {
             Map<String, Object> parameters = Map.of(
                     "from", from,
@@ -49,7 +99,7 @@ public class ItemClient extends BaseClient {
         return get("", viewerId);
     }
 
-    public ResponseEntity<Object> search(String text, Integer from, Integer size, int viewerId) {
+    public Mono<ResponseEntity<Object>> search(String text, Integer from, Integer size, int viewerId) {
         Map<String, Object> parameters;
         if (validatePaginationParams(from, size)) {
              parameters = Map.of(
@@ -57,17 +107,34 @@ public class ItemClient extends BaseClient {
                     "size", size,
                     "text", text
             );
-            return get("/search?text={text}&from={from}&size={size}", viewerId, parameters);
+            return getCoalesced("/search?text={text}&from={from}&size={size}", viewerId, parameters);
         }
         parameters = Map.of("text", text);
-        return get("/search?text={text}", viewerId, parameters);
+        return getCoalesced("/search?text={text}", viewerId, parameters);
     }
 
-    public ResponseEntity<Object> updateItem(int itemId, int ownerId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(int itemId, int ownerId, ItemDto itemDto) {
         return patch("/" + itemId, ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> addComment(CommentDto commentDto, int commentatorId, int itemId) {
+    public Mono<ResponseEntity<Object>> getAvailability(int itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(List<Integer> itemIds, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "ids", itemIds.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                "from", from,
+                "to", to
+        );
+        return get("/availability?ids={ids}&from={from}&to={to}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(CommentDto commentDto, int commentatorId, int itemId) {
         return post("/" + itemId + "/comment", commentatorId, commentDto);
     }
 }
@@ -1,12 +1,24 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static ru.practicum.shareit.common.Header.X_SHARER_USER_ID;
 import static ru.practicum.shareit.validator.Validator.*;
 
@@ -15,52 +27,110 @@ import static ru.practicum.shareit.validator.Validator.*;
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int PROGRESS_CHUNK_SIZE = 8 * 1024;
+
     private final ItemClient itemService;
 
     //-----------------------------------------------ITEM ENDPOINTS-----------------------------------------------------
 
     @PostMapping
-    public ResponseEntity<Object> add(@RequestBody ItemDto itemDto,
-                                      @RequestHeader(name = X_SHARER_USER_ID) int ownerId) {
+    public Mono<ResponseEntity<Object>> add(@RequestBody ItemDto itemDto,
+                                            @RequestHeader(name = X_SHARER_USER_ID) int ownerId) {
         validateItem(itemDto);
         return itemService.addItem(itemDto, ownerId);
     }
 
+    /**
+     * Waits on the servlet thread instead of completing asynchronously, so that a long import
+     * is not cut by the MVC async request timeout.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<Object> importItems(@RequestHeader(name = X_SHARER_USER_ID) int ownerId,
+                                              @RequestHeader(name = HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              InputStream body) {
+        return itemService.importItems(ownerId, contentType, body).block();
+    }
+
+    /**
+     * Relays the NDJSON progress lines of the server as they come, flushing after each chunk,
+     * so a client sees every committed batch without waiting for the end of the import.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    public void importItemsWithProgress(@RequestHeader(name = X_SHARER_USER_ID) int ownerId,
+                                        @RequestHeader(name = HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                        InputStream body,
+                                        HttpServletResponse response) throws IOException {
+        ResponseEntity<Object> relayed = itemService.importItems(ownerId, contentType, NDJSON, body).block();
+        response.setStatus(relayed.getStatusCodeValue());
+        relayed.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (!(relayed.getBody() instanceof Resource)) {
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        try (InputStream progress = ((Resource) relayed.getBody()).getInputStream()) {
+            byte[] chunk = new byte[PROGRESS_CHUNK_SIZE];
+            int read;
+            while ((read = progress.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+                out.flush();
+            }
+        }
+    }
+
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@PathVariable int itemId,
-                                      @RequestHeader(name = X_SHARER_USER_ID) int viewerId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable int itemId,
+                                            @RequestHeader(name = X_SHARER_USER_ID) int viewerId) {
         return itemService.getItem(itemId, viewerId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getViewerItems(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
-                                                 @RequestParam(required = false) Integer from,
-                                                 @RequestParam(required = false) Integer size) {
+    public Mono<ResponseEntity<Object>> getViewerItems(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
+                                                       @RequestParam(required = false) Integer from,
+                                                       @RequestParam(required = false) Integer size) {
         return itemService.getViewerItems(viewerId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam(required = false) Integer from,
-                                         @RequestParam(required = false) Integer size,
-                                         @RequestParam String text,
-                                         @RequestHeader(name = X_SHARER_USER_ID) int viewerId) {
+    public Mono<ResponseEntity<Object>> search(@RequestParam(required = false) Integer from,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam String text,
+                                               @RequestHeader(name = X_SHARER_USER_ID) int viewerId) {
         return itemService.search(text, from, size, viewerId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@PathVariable int itemId,
-                                         @RequestHeader(name = X_SHARER_USER_ID) int ownerId,
-                                         @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable int itemId,
+                                               @RequestHeader(name = X_SHARER_USER_ID) int ownerId,
+                                               @RequestBody ItemDto itemDto) {
         validateUpdateItem(itemDto);
         return itemService.updateItem(itemId, ownerId, itemDto);
     }
 
+    //-------------------------------------------AVAILABILITY ENDPOINTS-------------------------------------------------
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@PathVariable int itemId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        validateAvailabilityParams(from, to);
+        return itemService.getAvailability(itemId, from, to);
+    }
+
+    @GetMapping("/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestParam List<Integer> ids,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        validateAvailabilityParams(ids, from, to);
+        return itemService.getAvailability(ids, from, to);
+    }
+
     //----------------------------------------------COMMENT ENDPOINTS---------------------------------------------------
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> add(@RequestBody CommentDto commentDto,
-                                      @RequestHeader(name = X_SHARER_USER_ID) int commentatorId,
-                                      @PathVariable int itemId) {
+    public Mono<ResponseEntity<Object>> add(@RequestBody CommentDto commentDto,
+                                            @RequestHeader(name = X_SHARER_USER_ID) int commentatorId,
+                                            @PathVariable int itemId) {
         validate(commentDto);
         return itemService.addComment(commentDto, commentatorId, itemId);
     }
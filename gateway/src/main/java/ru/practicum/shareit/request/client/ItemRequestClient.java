@@ -2,12 +2,14 @@ package ru.practicum.shareit.request.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -19,29 +21,36 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             WebClient.Builder builder,
+                             ResponseCache responseCache,
+                             RequestCoalescer requestCoalescer,
+                             HttpClientProperties httpClientProperties) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                httpClientProperties.getMode()
         );
     }
 
 
-    public ResponseEntity<Object> addRequest(int requesterId, ItemRequestDto itemRequest) {
+    public Mono<ResponseEntity<Object>> addRequest(int requesterId, ItemRequestDto itemRequest) {
         return post("", requesterId, itemRequest);
     }
 
-    public ResponseEntity<Object> getUserRequests(int viewerId) {
+    public Mono<ResponseEntity<Object>> getUserRequests(int viewerId) {
         return get("", viewerId);
     }
 
-    public ResponseEntity<Object> get(int viewerId, int requestId) {
-        return get("/" + requestId, viewerId);
+    public Mono<ResponseEntity<Object>> get(int viewerId, int requestId) {
+        return getById("/" + requestId, viewerId);
     }
 
-    public ResponseEntity<Object> get(Integer from, Integer size, int viewerId) {
+    public Mono<ResponseEntity<Object>> get(Integer from, Integer size, int viewerId) {
         if (validatePaginationParams(from, size)) {
             Map<String, Object> parameters = Map.of(
                     "from", from,
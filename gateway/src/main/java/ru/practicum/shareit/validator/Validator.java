@@ -1,5 +1,6 @@
 package ru.practicum.shareit.validator;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.filter.BookingFilter;
 import ru.practicum.shareit.exception.model.ValidationException;
@@ -9,6 +10,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class Validator {
 
@@ -71,6 +73,18 @@ public class Validator {
         }
     }
 
+    public static void validateBookings(List<BookingDtoIn> bookingDtoIns) {
+        validateBatchSize(bookingDtoIns);
+        bookingDtoIns.forEach(Validator::validate);
+    }
+
+    public static void validateApprovals(List<BookingApprovalDto> approvals) {
+        validateBatchSize(approvals);
+        if (approvals.stream().anyMatch(approval -> approval.getBookingId() == null || approval.getApproved() == null)) {
+            throw new ValidationException("Ошибка в теле запроса");
+        }
+    }
+
     public static void validate(CommentDto commentDto) {
         if (commentDto.getText() == null || commentDto.getText().isBlank()) {
             throw new ValidationException("Пустой комментарий");
@@ -93,6 +107,31 @@ public class Validator {
         throw new ValidationException("Ошибочные параметры запроса");
     }
 
+    public static void validateCursorParams(Integer from, Integer size) {
+        if (from != null || size == null || size <= 0) {
+            throw new ValidationException("Ошибочные параметры запроса");
+        }
+    }
+
+    public static void validateAvailabilityParams(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Ошибочные параметры запроса");
+        }
+    }
+
+    public static void validateAvailabilityParams(List<Integer> itemIds, LocalDateTime from, LocalDateTime to) {
+        if (itemIds.isEmpty() || itemIds.size() > 500) {
+            throw new ValidationException("Количество вещей в запросе должно быть от 1 до 500");
+        }
+        validateAvailabilityParams(from, to);
+    }
+
+    private static void validateBatchSize(List<?> batch) {
+        if (batch == null || batch.isEmpty() || batch.size() > 100) {
+            throw new ValidationException("Количество элементов в пакете должно быть от 1 до 100");
+        }
+    }
+
     public static BookingFilter validateState(String state) {
         try {
             return BookingFilter.valueOf(state);
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The server stub sends the first half of the answer right away and the second half after {@code SERVER_DELAY}.
+ */
+class BaseClientTest {
+
+    private static final Duration SERVER_DELAY = Duration.ofMillis(600);
+
+    private DisposableServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/things", (request, response) -> response.status(HttpStatus.OK.value())
+                                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Flux.concat(Mono.just("[1,"), Mono.delay(SERVER_DELAY).thenReturn("2]"))))
+                        .get("/things/1", (request, response) -> response.status(HttpStatus.OK.value())
+                                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just("1")))
+                        .delete("/things/1", (request, response) -> response.status(HttpStatus.OK.value()).send()))
+                .bindNow();
+        client = new TestClient(WebClient.create("http://localhost:" + server.port() + "/things"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void bodyIsRelayedBeforeServerFinishesIt() throws IOException {
+        long started = System.nanoTime();
+        ResponseEntity<Object> response = client.get("").block();
+
+        assertTrue(System.nanoTime() - started < SERVER_DELAY.toNanos());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        InputStreamResource body = assertInstanceOf(InputStreamResource.class, response.getBody());
+        try (InputStream content = body.getInputStream()) {
+            assertEquals("[1,2]", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void cachedBodyIsBuffered() {
+        ResponseEntity<Object> response = client.getById("/1", 1).block();
+
+        assertArrayEquals("1".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void answerWithoutContentIsRelayedWithoutBody() {
+        ResponseEntity<Object> response = client.delete("/1", 1).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(WebClient rest) {
+            super(rest, "/things", new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry()),
+                    new RequestCoalescer(new RequestCoalescingProperties()), HttpClientProperties.Mode.NON_BLOCKING);
+        }
+    }
+}
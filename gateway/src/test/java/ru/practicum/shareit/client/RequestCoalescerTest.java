@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    private static final Duration MAX_WAIT = Duration.ofMillis(100);
+    private static final Duration UPSTREAM = Duration.ofMillis(300);
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final RequestCoalescer coalescer = new RequestCoalescer(properties());
+
+    @Test
+    void leaderIsNotLimitedByMaxWait() {
+        ResponseEntity<Object> response = coalescer.execute("key", this::slowUpstream).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void followerGivesUpAfterMaxWaitWhileLeaderCompletes() {
+        Mono<ResponseEntity<Object>> leader = coalescer.execute("key", this::slowUpstream).cache();
+        leader.subscribe();
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> coalescer.execute("key", this::slowUpstream).block());
+
+        assertTrue(Exceptions.unwrap(e) instanceof TimeoutException);
+        assertEquals(HttpStatus.OK, leader.block().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    private Mono<ResponseEntity<Object>> slowUpstream() {
+        upstreamCalls.incrementAndGet();
+        return Mono.delay(UPSTREAM).map(tick -> ResponseEntity.ok().build());
+    }
+
+    private static RequestCoalescingProperties properties() {
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setMaxWait(MAX_WAIT);
+        return properties;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseCacheTest {
+
+    private final ResponseCache cache = new ResponseCache(properties(), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void cachedFamilyIsLoadedOnce() {
+        load("/users", "/users null /1");
+        load("/users", "/users null /1");
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void otherFamiliesAreNotCached() {
+        load("/other", "/other 1 /1");
+        load("/other", "/other 1 /1");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void timeDependentResponsesExpireFirst() {
+        load("/items", "/items 1 /1", true);
+        load("/items", "/items 1 /1", true);
+        load("/items", "/items 2 /1", false);
+        load("/items", "/items 2 /1", false);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void writeInvalidatesEmbeddingFamiliesOnly() {
+        load("/users", "/users null /1");
+        load("/requests", "/requests 1 /1");
+
+        cache.invalidate("/items");
+        load("/users", "/users null /1");
+        load("/requests", "/requests 1 /1");
+
+        assertEquals(3, loads.get());
+    }
+
+    private void load(String family, String key) {
+        load(family, key, false);
+    }
+
+    private void load(String family, String key, boolean timeDependent) {
+        cache.get(family, key, () -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok().build();
+        }), response -> timeDependent).block();
+    }
+
+    private static ResponseCacheProperties properties() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setTimeDependentTtl(Duration.ZERO);
+        return properties;
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.RequestCoalescingProperties;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The server stub answers after {@code SERVER_DELAY}, longer than the shared response timeout.
+ */
+class ItemClientTest {
+
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration SERVER_DELAY = Duration.ofMillis(600);
+
+    private DisposableServer server;
+    private ItemClient itemClient;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> request.receive().then()
+                        .then(Mono.delay(SERVER_DELAY))
+                        .then(response.status(HttpStatus.OK.value())
+                                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just("{}"))
+                                .then()))
+                .bindNow();
+        HttpClientProperties httpClientProperties = new HttpClientProperties();
+        httpClientProperties.setImportTimeout(Duration.ofSeconds(5));
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().responseTimeout(READ_TIMEOUT)));
+        itemClient = new ItemClient("http://localhost:" + server.port(), builder,
+                new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry()),
+                new RequestCoalescer(new RequestCoalescingProperties()), httpClientProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void importIsNotCutBySharedResponseTimeout() {
+        ByteArrayInputStream body = new ByteArrayInputStream(
+                "{\"name\":\"дрель\",\"description\":\"дрель\",\"available\":true}\n".getBytes(StandardCharsets.UTF_8));
+
+        ResponseEntity<Object> response = itemClient.importItems(1, MediaType.parseMediaType("application/x-ndjson"), body)
+                .block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void otherRequestsKeepSharedResponseTimeout() {
+        ItemDto itemDto = ItemDto.builder().name("дрель").description("дрель").available(true).build();
+
+        assertThrows(RuntimeException.class, () -> itemClient.addItem(itemDto, 1).block());
+    }
+
+    @Test
+    void blockingModeAnswersOnCallingThread() {
+        HttpClientProperties httpClientProperties = new HttpClientProperties();
+        httpClientProperties.setMode(HttpClientProperties.Mode.BLOCKING);
+        httpClientProperties.setImportTimeout(Duration.ofSeconds(5));
+        ItemClient blockingClient = new ItemClient("http://localhost:" + server.port(), WebClient.builder(),
+                new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry()),
+                new RequestCoalescer(new RequestCoalescingProperties()), httpClientProperties);
+        ByteArrayInputStream body = new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8));
+
+        long started = System.nanoTime();
+        Mono<ResponseEntity<Object>> response = blockingClient.importItems(1,
+                MediaType.parseMediaType("application/x-ndjson"), body);
+
+        assertTrue(System.nanoTime() - started >= SERVER_DELAY.toNanos());
+        assertEquals(HttpStatus.OK, response.block(Duration.ZERO).getStatusCode());
+    }
+}
@@ -1,15 +1,21 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingRowDto;
 import ru.practicum.shareit.booking.filter.BookingFilter;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
 
 import static ru.practicum.shareit.booking.mapper.BookingMapper.map;
+import static ru.practicum.shareit.common.Header.X_NEXT_CURSOR;
 import static ru.practicum.shareit.common.Header.X_SHARER_USER_ID;
 
 @RestController
@@ -25,6 +31,12 @@ public class BookingController {
         return map(bookingService.add(bookerId, bookingDtoIn));
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addAll(@RequestHeader(name = X_SHARER_USER_ID) int bookerId,
+                                              @RequestBody List<BookingDtoIn> bookingDtoIns) {
+        return bookingService.addAll(bookerId, bookingDtoIns);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDtoOut get(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
                              @PathVariable int bookingId) {
@@ -38,6 +50,12 @@ public class BookingController {
         return map(bookingService.update(viewerId, approved, bookingId));
     }
 
+    @PatchMapping("/approvals")
+    public List<BookingBatchResultDto> updateAll(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
+                                                 @RequestBody List<BookingApprovalDto> approvals) {
+        return bookingService.updateAll(viewerId, approvals);
+    }
+
     @GetMapping
     public List<BookingDtoOut> getUserBookings(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
                                                @RequestParam(required = false) Integer from,
@@ -46,6 +64,19 @@ public class BookingController {
         return map(bookingService.getUserBookings(viewerId, from, size, state));
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingDtoOut>> getUserBookings(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
+                                                               @RequestParam String cursor,
+                                                               @RequestParam int size,
+                                                               @RequestParam(defaultValue = "ALL") BookingFilter state) {
+        List<BookingRowDto> bookings = bookingService.getUserBookings(viewerId, BookingCursor.decode(cursor), size, state);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            response.header(X_NEXT_CURSOR, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(map(bookings));
+    }
+
     @GetMapping("/owner")
     public List<BookingDtoOut> getBookingsOfUserItems(@RequestHeader(name = X_SHARER_USER_ID) int viewerId,
                                                       @RequestParam(required = false) Integer from,
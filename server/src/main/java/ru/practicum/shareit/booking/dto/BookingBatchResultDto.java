@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of one element of a batch request: the HTTP status the single-element endpoint would answer with,
+ * the booking on success or the error message otherwise.
+ */
+@Data
+@Builder
+public class BookingBatchResultDto {
+
+    private Integer index;
+    private Integer status;
+    private BookingDtoOut booking;
+    private String error;
+}
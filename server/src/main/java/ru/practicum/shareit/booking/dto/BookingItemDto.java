@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Item as shown inside a booking, in the shape the item entity used to be serialized in.
+ */
+@Data
+@Builder
+public class BookingItemDto {
+
+    private Integer id;
+    private String name;
+    private String description;
+    private Boolean available;
+    private BookingItemRequestDto request;
+}
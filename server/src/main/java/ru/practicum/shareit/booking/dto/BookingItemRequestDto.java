@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class BookingItemRequestDto {
+
+    private Integer id;
+    private String description;
+    private UserDto requester;
+    private LocalDateTime created;
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat booking row read by a constructor expression, without loading managed entities.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingRowDto {
+
+    private final Integer id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final BookingStatus status;
+    private final Integer itemId;
+    private final String itemName;
+    private final String itemDescription;
+    private final Boolean itemAvailable;
+    private final Integer itemRequestId;
+    private final String itemRequestDescription;
+    private final LocalDateTime itemRequestCreated;
+    private final Integer itemRequesterId;
+    private final String itemRequesterName;
+    private final String itemRequesterEmail;
+    private final Integer bookerId;
+    private final String bookerName;
+    private final String bookerEmail;
+}
@@ -1,10 +1,19 @@
 package ru.practicum.shareit.booking.mapper;
 
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingRowDto;
 import ru.practicum.shareit.booking.dto.ItemFieldBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -28,8 +37,8 @@ public class BookingMapper {
                 .id(booking.getId())
                 .start(booking.getStartDate())
                 .end(booking.getEndDate())
-                .item(booking.getItem())
-                .booker(booking.getBooker())
+                .item(mapToBookingItem(booking.getItem()))
+                .booker(UserMapper.map(booking.getBooker()))
                 .status(booking.getStatus())
                 .build();
     }
@@ -39,13 +48,76 @@ public class BookingMapper {
                 .id(booking.getId())
                 .start(booking.getStartDate())
                 .end(booking.getEndDate())
-                .item(booking.getItem())
+                .item(mapToBookingItem(booking.getItem()))
                 .bookerId(booking.getBooker().getId())
                 .status(booking.getStatus())
                 .build();
     }
 
-    public static List<BookingDtoOut> map(List<Booking> bookings) {
+    public static BookingDtoOut map(BookingRowDto row) {
+        return BookingDtoOut.builder()
+                .id(row.getId())
+                .start(row.getStart())
+                .end(row.getEnd())
+                .item(BookingItemDto.builder()
+                        .id(row.getItemId())
+                        .name(row.getItemName())
+                        .description(row.getItemDescription())
+                        .available(row.getItemAvailable())
+                        .request(row.getItemRequestId() == null ? null : BookingItemRequestDto.builder()
+                                .id(row.getItemRequestId())
+                                .description(row.getItemRequestDescription())
+                                .requester(UserDto.builder()
+                                        .id(row.getItemRequesterId())
+                                        .name(row.getItemRequesterName())
+                                        .email(row.getItemRequesterEmail())
+                                        .build())
+                                .created(row.getItemRequestCreated())
+                                .build())
+                        .build())
+                .booker(UserDto.builder()
+                        .id(row.getBookerId())
+                        .name(row.getBookerName())
+                        .email(row.getBookerEmail())
+                        .build())
+                .status(row.getStatus())
+                .build();
+    }
+
+    public static BookingItemDto mapToBookingItem(Item item) {
+        ItemRequest request = item.getRequest();
+        return BookingItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .request(request == null ? null : BookingItemRequestDto.builder()
+                        .id(request.getId())
+                        .description(request.getDescription())
+                        .requester(UserMapper.map(request.getRequester()))
+                        .created(request.getCreated())
+                        .build())
+                .build();
+    }
+
+    public static BookingBatchResultDto mapToBatchResult(int index, Booking booking) {
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(HttpStatus.OK.value())
+                .booking(map(booking))
+                .build();
+    }
+
+    public static BookingBatchResultDto mapToBatchResult(int index, RuntimeException e) {
+        HttpStatus status = e instanceof NotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(status.value())
+                .error(e.getMessage())
+                .build();
+    }
+
+    public static List<BookingDtoOut> map(List<BookingRowDto> bookings) {
         return bookings.stream()
                 .map(BookingMapper::map)
                 .collect(Collectors.toList());
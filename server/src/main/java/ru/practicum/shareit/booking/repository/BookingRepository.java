@@ -1,146 +1,172 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingPeriodDto;
+import ru.practicum.shareit.booking.dto.BookingRowDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Integer> {
 
-    List<Booking> findByBookerIdOrderByEndDateDesc(Integer bookerId);//all
-
-    List<Booking> findByBookerIdAndEndDateBeforeOrderByEndDateDesc(Integer bookerId, LocalDateTime moment);//past
-
-    List<Booking> findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByEndDateDesc(Integer bookerId, LocalDateTime moment, LocalDateTime anotherMoment);//current
-
-    List<Booking> findByBookerIdAndStartDateAfterOrderByEndDateDesc(Integer bookerId, LocalDateTime moment);//future
-
-    List<Booking> findByBookerIdAndStatusOrderByEndDateDesc(Integer bookerId, BookingStatus status);//bookingStatus
-
-    List<Booking> findByBookerId(Integer bookerId, Pageable pageable);//all
-
-    List<Booking> findByBookerIdAndEndDateBefore(Integer bookerId, LocalDateTime moment, Pageable pageable);//past
-
-    List<Booking> findByBookerIdAndStartDateBeforeAndEndDateAfter(Integer bookerId, LocalDateTime moment, LocalDateTime anotherMoment, Pageable pageable);//current
+    String BOOKING_ROW = "SELECT new ru.practicum.shareit.booking.dto.BookingRowDto(" +
+            "b.id, b.startDate, b.endDate, b.status, " +
+            "i.id, i.name, i.description, i.available, " +
+            "r.id, r.description, r.created, rq.id, rq.name, rq.email, " +
+            "u.id, u.name, u.email) " +
+            "FROM Booking AS b " +
+            "JOIN b.item AS i " +
+            "LEFT JOIN i.request AS r " +
+            "LEFT JOIN r.requester AS rq " +
+            "JOIN b.booker AS u ";
+    String NEWEST_FIRST = "ORDER BY b.endDate DESC, b.id DESC";
+    String AFTER_CURSOR = "AND (b.endDate < ?2 OR (b.endDate = ?2 AND b.id < ?3)) ";
 
-    List<Booking> findByBookerIdAndStartDateAfter(Integer bookerId, LocalDateTime moment, Pageable pageable);//future
+    @EntityGraph(attributePaths = {"item.request.requester", "booker"})
+    Optional<Booking> findById(Integer bookingId);
 
-    List<Booking> findByBookerIdAndStatus(Integer bookerId, BookingStatus status, Pageable pageable);//bookingStatus
+    @EntityGraph(attributePaths = {"item.request.requester", "booker"})
+    List<Booking> findByIdIn(Collection<Integer> bookingIds);
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerId(Integer ownerId);
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
+            NEWEST_FIRST)
+    List<BookingRowDto> findRowsByBookerId(Integer bookerId, Pageable pageable);//all
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
             "AND b.endDate < ?2 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerIdPast(Integer ownerId, LocalDateTime moment);
+            NEWEST_FIRST)
+    List<BookingRowDto> findPastRowsByBookerId(Integer bookerId, LocalDateTime moment, Pageable pageable);//past
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
+            "AND b.startDate < ?2 " +
             "AND b.endDate > ?2 " +
-            "AND b.startDate < ?3 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerIdCurrent(Integer ownerId, LocalDateTime moment, LocalDateTime anotherMoment);
+            NEWEST_FIRST)
+    List<BookingRowDto> findCurrentRowsByBookerId(Integer bookerId, LocalDateTime moment, Pageable pageable);//current
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
             "AND b.startDate > ?2 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerIdFuture(Integer ownerId, LocalDateTime moment);
-
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
-            "AND b.status LIKE ?2 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerIdAndStatus(Integer ownerId, BookingStatus bookingStatus);
+            NEWEST_FIRST)
+    List<BookingRowDto> findFutureRowsByBookerId(Integer bookerId, LocalDateTime moment, Pageable pageable);//future
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerId(Integer ownerId, Pageable pageable);
-
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
+            "AND b.status = ?2 " +
+            NEWEST_FIRST)
+    List<BookingRowDto> findRowsByBookerIdAndStatus(Integer bookerId, BookingStatus status, Pageable pageable);//bookingStatus
+
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
+            AFTER_CURSOR +
+            NEWEST_FIRST)
+    List<BookingRowDto> findRowsByBookerIdAfterCursor(Integer bookerId, LocalDateTime cursorEndDate, Integer cursorId, Pageable pageable);//all
+
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
+            AFTER_CURSOR +
+            "AND b.endDate < ?4 " +
+            NEWEST_FIRST)
+    List<BookingRowDto> findPastRowsByBookerIdAfterCursor(Integer bookerId, LocalDateTime cursorEndDate, Integer cursorId, LocalDateTime moment, Pageable pageable);//past
+
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
+            AFTER_CURSOR +
+            "AND b.startDate < ?4 " +
+            "AND b.endDate > ?4 " +
+            NEWEST_FIRST)
+    List<BookingRowDto> findCurrentRowsByBookerIdAfterCursor(Integer bookerId, LocalDateTime cursorEndDate, Integer cursorId, LocalDateTime moment, Pageable pageable);//current
+
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
+            AFTER_CURSOR +
+            "AND b.startDate > ?4 " +
+            NEWEST_FIRST)
+    List<BookingRowDto> findFutureRowsByBookerIdAfterCursor(Integer bookerId, LocalDateTime cursorEndDate, Integer cursorId, LocalDateTime moment, Pageable pageable);//future
+
+    @Query(BOOKING_ROW +
+            "WHERE u.id = ?1 " +
+            AFTER_CURSOR +
+            "AND b.status = ?4 " +
+            NEWEST_FIRST)
+    List<BookingRowDto> findRowsByBookerIdAndStatusAfterCursor(Integer bookerId, LocalDateTime cursorEndDate, Integer cursorId, BookingStatus status, Pageable pageable);//bookingStatus
+
+    @Query(BOOKING_ROW +
+            "WHERE i.owner.id = ?1 " +
+            NEWEST_FIRST)
+    List<BookingRowDto> findRowsByOwnerId(Integer ownerId, Pageable pageable);//all
+
+    @Query(BOOKING_ROW +
+            "WHERE i.owner.id = ?1 " +
             "AND b.endDate < ?2 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerIdPast(Integer ownerId, LocalDateTime moment, Pageable pageable);
+            NEWEST_FIRST)
+    List<BookingRowDto> findPastRowsByOwnerId(Integer ownerId, LocalDateTime moment, Pageable pageable);//past
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
+    @Query(BOOKING_ROW +
+            "WHERE i.owner.id = ?1 " +
+            "AND b.startDate < ?2 " +
             "AND b.endDate > ?2 " +
-            "AND b.startDate < ?3 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerIdCurrent(Integer ownerId, LocalDateTime moment, LocalDateTime anotherMoment, Pageable pageable);
+            NEWEST_FIRST)
+    List<BookingRowDto> findCurrentRowsByOwnerId(Integer ownerId, LocalDateTime moment, Pageable pageable);//current
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
+    @Query(BOOKING_ROW +
+            "WHERE i.owner.id = ?1 " +
             "AND b.startDate > ?2 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerIdFuture(Integer ownerId, LocalDateTime moment, Pageable pageable);
+            NEWEST_FIRST)
+    List<BookingRowDto> findFutureRowsByOwnerId(Integer ownerId, LocalDateTime moment, Pageable pageable);//future
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
-            "AND b.status LIKE ?2 " +
-            "ORDER BY b.endDate DESC")
-    List<Booking> findByOwnerIdAndStatus(Integer ownerId, BookingStatus bookingStatus, Pageable pageable);
+    @Query(BOOKING_ROW +
+            "WHERE i.owner.id = ?1 " +
+            "AND b.status = ?2 " +
+            NEWEST_FIRST)
+    List<BookingRowDto> findRowsByOwnerIdAndStatus(Integer ownerId, BookingStatus status, Pageable pageable);//bookingStatus
 
     List<Booking> findByItemIdAndStatus(Integer itemId, BookingStatus status);
 
-    @Query("SELECT b " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingPeriodDto(b.item.id, b.startDate, b.endDate) " +
             "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "WHERE i.id = ?1 " +
+            "WHERE b.item.id IN ?1 " +
             "AND b.status = ?2 " +
-            "AND b.startDate > ?3 " +
-            "ORDER BY b.startDate ASC")
-    Slice<Booking> findNextByItemIdAndStatus(Integer itemId, BookingStatus status, LocalDateTime moment, Pageable pageable);
+            "ORDER BY b.startDate")
+    List<BookingPeriodDto> findPeriodsByItemIdInAndStatus(Collection<Integer> itemIds, BookingStatus status);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingPeriodDto(b.item.id, b.startDate, b.endDate) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 " +
+            "AND b.status IN ?2 " +
+            "ORDER BY b.startDate")
+    List<BookingPeriodDto> findPeriodsByItemIdInAndStatusIn(Collection<Integer> itemIds, Collection<BookingStatus> statuses);
+
+    boolean existsByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(Integer itemId, Collection<BookingStatus> statuses, LocalDateTime end, LocalDateTime start);//overlap
 
     @Query("SELECT b " +
             "FROM Booking AS b " +
-            "JOIN b.item AS i " +
-            "WHERE i.id = ?1 " +
+            "WHERE b.item.id IN ?1 " +
             "AND b.status = ?2 " +
-            "AND b.startDate < ?3 " +
-            "ORDER BY b.endDate DESC")
-    Slice<Booking> findPrevByItemIdAndStatus(Integer itemId, BookingStatus status, LocalDateTime moment, Pageable pageable);
+            "AND ((b.startDate > ?3 " +
+            "AND NOT EXISTS (SELECT b2 " +
+            "FROM Booking AS b2 " +
+            "WHERE b2.item = b.item " +
+            "AND b2.status = ?2 " +
+            "AND b2.startDate > ?3 " +
+            "AND (b2.startDate < b.startDate OR (b2.startDate = b.startDate AND b2.id < b.id)))) " +
+            "OR (b.startDate < ?3 " +
+            "AND NOT EXISTS (SELECT b2 " +
+            "FROM Booking AS b2 " +
+            "WHERE b2.item = b.item " +
+            "AND b2.status = ?2 " +
+            "AND b2.startDate < ?3 " +
+            "AND (b2.endDate > b.endDate OR (b2.endDate = b.endDate AND b2.id > b.id)))))")
+    List<Booking> findLastAndNextByItemIdInAndStatus(Collection<Integer> itemIds, BookingStatus status, LocalDateTime moment);//at most two per item
 }
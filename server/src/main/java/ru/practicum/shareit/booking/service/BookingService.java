@@ -2,9 +2,13 @@ package ru.practicum.shareit.booking.service;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingRowDto;
 import ru.practicum.shareit.booking.filter.BookingFilter;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
 
 import java.util.List;
 
@@ -20,7 +24,13 @@ public interface BookingService {
     @Transactional
     Booking update(int viewerId, boolean approved, int bookingId);
 
-    List<Booking> getUserBookings(int viewerId, Integer from, Integer size, BookingFilter state);
+    List<BookingBatchResultDto> addAll(int bookerId, List<BookingDtoIn> bookingDtoIns);
 
-    List<Booking> getBookingsOfUserItems(int viewerId, Integer from, Integer size, BookingFilter state);
+    List<BookingBatchResultDto> updateAll(int viewerId, List<BookingApprovalDto> approvals);
+
+    List<BookingRowDto> getUserBookings(int viewerId, Integer from, Integer size, BookingFilter state);
+
+    List<BookingRowDto> getUserBookings(int viewerId, BookingCursor cursor, int size, BookingFilter state);
+
+    List<BookingRowDto> getBookingsOfUserItems(int viewerId, Integer from, Integer size, BookingFilter state);
 }
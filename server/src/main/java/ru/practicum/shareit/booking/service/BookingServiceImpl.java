@@ -1,15 +1,23 @@
 package ru.practicum.shareit.booking.service;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingPeriodDto;
+import ru.practicum.shareit.booking.dto.BookingRowDto;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
 import ru.practicum.shareit.booking.filter.BookingFilter;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.model.BadRequestException;
 import ru.practicum.shareit.exception.model.NotFoundException;
@@ -18,19 +26,54 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.mapper.BookingMapper.map;
+import static ru.practicum.shareit.booking.mapper.BookingMapper.mapToBatchResult;
 
 @Service
-@RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String OVERLAP_CONSTRAINT = "bookings_item_period_excl";
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingServiceImpl(BookingRepository bookingRepository,
+                              ItemRepository itemRepository,
+                              UserRepository userRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              Clock clock,
+                              PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Transactional
     @Override
@@ -38,18 +81,17 @@ public class BookingServiceImpl implements BookingService {
         User booker = getUser(bookerId);
         Item item = itemRepository.findById(bookingDtoIn.getItemId()).orElseThrow(() ->
                 new NotFoundException("Такой вещи нет в базе id=" + bookingDtoIn.getItemId()));
-        if (!item.getAvailable()) {
-            throw new BadRequestException("Вещь не доступна id=" + item.getId());
-        }
-        if (item.getOwner().getId() == bookerId) {
-            throw new NotFoundException("Вещь не доступна id=" + item.getId());
+        checkBookable(bookerId, item);
+        if (bookingRepository.existsByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(
+                item.getId(), BLOCKING_STATUSES, bookingDtoIn.getEnd(), bookingDtoIn.getStart())) {
+            throw new BadRequestException("Вещь уже забронирована на эти даты id=" + item.getId());
         }
         Booking booking = map(
                 bookingDtoIn.getStart(),
                 bookingDtoIn.getEnd(),
                 item,
                 booker);
-        return bookingRepository.save(booking);
+        return saveWithoutOverlap(booking);
     }
 
     @Override
@@ -73,101 +115,297 @@ public class BookingServiceImpl implements BookingService {
     public Booking update(int viewerId, boolean approved, int bookingId) {
         getUser(viewerId);
         Booking booking = get(bookingId);
-        if (booking.getItem().getOwner().getId() != viewerId) {
-            throw new NotFoundException("Пользователь id=" + viewerId +
-                    " не является владельцем вещи id=" + booking.getItem().getId());
-        }
-        if (booking.getStatus().equals(BookingStatus.APPROVED)) {
-            throw new BadRequestException("Бронь id=" + bookingId + " уже одобрена");
+        checkApprovable(viewerId, booking);
+        if (approved && !BLOCKING_STATUSES.contains(booking.getStatus())
+                && bookingRepository.existsByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(
+                booking.getItem().getId(), BLOCKING_STATUSES, booking.getEndDate(), booking.getStartDate())) {
+            throw new BadRequestException("Вещь уже забронирована на эти даты id=" + booking.getItem().getId());
         }
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return bookingRepository.save(booking);
+        Booking savedBooking = saveWithoutOverlap(booking);
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(savedBooking.getItem().getId()));
+        return savedBooking;
     }
 
     @Override
-    public List<Booking> getUserBookings(int viewerId, Integer from, Integer size, BookingFilter state) {
+    public List<BookingBatchResultDto> addAll(int bookerId, List<BookingDtoIn> bookingDtoIns) {
+        return retryOnOverlap(() -> tryAddAll(bookerId, bookingDtoIns));
+    }
+
+    private List<BookingBatchResultDto> tryAddAll(int bookerId, List<BookingDtoIn> bookingDtoIns) {
+        User booker = getUser(bookerId);
+        Set<Integer> itemIds = bookingDtoIns.stream()
+                .map(BookingDtoIn::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Integer, List<BookingPeriodDto>> blockedPeriods = bookingRepository
+                .findPeriodsByItemIdInAndStatusIn(itemIds, BLOCKING_STATUSES).stream()
+                .collect(Collectors.groupingBy(BookingPeriodDto::getItemId, Collectors.toCollection(ArrayList::new)));
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        Map<Integer, RuntimeException> rejected = new HashMap<>();
+        for (int i = 0; i < bookingDtoIns.size(); i++) {
+            BookingDtoIn bookingDtoIn = bookingDtoIns.get(i);
+            try {
+                Item item = items.get(bookingDtoIn.getItemId());
+                if (item == null) {
+                    throw new NotFoundException("Такой вещи нет в базе id=" + bookingDtoIn.getItemId());
+                }
+                checkBookable(bookerId, item);
+                List<BookingPeriodDto> itemPeriods = blockedPeriods.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+                if (itemPeriods.stream().anyMatch(period -> period.getStart().isBefore(bookingDtoIn.getEnd())
+                        && period.getEnd().isAfter(bookingDtoIn.getStart()))) {
+                    throw new BadRequestException("Вещь уже забронирована на эти даты id=" + item.getId());
+                }
+                itemPeriods.add(new BookingPeriodDto(item.getId(), bookingDtoIn.getStart(), bookingDtoIn.getEnd()));
+                accepted.put(i, map(bookingDtoIn.getStart(), bookingDtoIn.getEnd(), item, booker));
+            } catch (NotFoundException | BadRequestException e) {
+                rejected.put(i, e);
+            }
+        }
+        saveAll(accepted.values());
+        return mapToBatchResults(bookingDtoIns.size(), accepted, rejected);
+    }
+
+    @Override
+    public List<BookingBatchResultDto> updateAll(int viewerId, List<BookingApprovalDto> approvals) {
+        return retryOnOverlap(() -> tryUpdateAll(viewerId, approvals));
+    }
+
+    private List<BookingBatchResultDto> tryUpdateAll(int viewerId, List<BookingApprovalDto> approvals) {
         getUser(viewerId);
-        LocalDateTime now = LocalDateTime.now();
-        if (from != null && size != null) {
-            List<Booking> userBookings = new ArrayList<>();
-            Pageable page = PageRequest.of(0, from + size, Sort.by("endDate").descending());
-            switch (state) {
-                case ALL:
-                    userBookings = bookingRepository.findByBookerId(viewerId, page);
-                    break;
-                case PAST:
-                    userBookings = bookingRepository.findByBookerIdAndEndDateBefore(viewerId, now, page);
-                    break;
-                case CURRENT:
-                    userBookings = bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfter(viewerId, now, now, page);
-                    break;
-                case FUTURE:
-                    userBookings = bookingRepository.findByBookerIdAndStartDateAfter(viewerId, now, page);
-                    break;
-                case WAITING:
-                case REJECTED:
-                case APPROVED:
-                    userBookings = bookingRepository.findByBookerIdAndStatus(viewerId, BookingStatus.valueOf(state.toString()), page);
+        Set<Integer> bookingIds = approvals.stream()
+                .map(BookingApprovalDto::getBookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Booking> bookings = bookingRepository.findByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Set<Integer> processedIds = new HashSet<>();
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        Map<Integer, RuntimeException> rejected = new HashMap<>();
+        for (int i = 0; i < approvals.size(); i++) {
+            BookingApprovalDto approval = approvals.get(i);
+            try {
+                Booking booking = bookings.get(approval.getBookingId());
+                if (booking == null) {
+                    throw new NotFoundException("Такой брони нет id=" + approval.getBookingId());
+                }
+                if (approval.getApproved() == null || !processedIds.add(booking.getId())) {
+                    throw new BadRequestException("Ошибка в теле запроса для брони id=" + booking.getId());
+                }
+                checkApprovable(viewerId, booking);
+                booking.setStatus(approval.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+                accepted.put(i, booking);
+            } catch (NotFoundException | BadRequestException e) {
+                rejected.put(i, e);
             }
-            return userBookings.subList(from, userBookings.size());
+        }
+        saveAll(accepted.values());
+        accepted.values().stream()
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .forEach(itemId -> eventPublisher.publishEvent(new BookingStatusChangedEvent(itemId)));
+        return mapToBatchResults(approvals.size(), accepted, rejected);
+    }
+
+    @Override
+    public List<BookingRowDto> getUserBookings(int viewerId, Integer from, Integer size, BookingFilter state) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (from != null && size != null) {
+            List<BookingRowDto> userBookings = checkViewer(viewerId,
+                    findUserBookings(viewerId, state, now, PageRequest.of(0, from + size)));
+            return userBookings.subList(Math.min(from, userBookings.size()), userBookings.size());
         } else if (from == null && size == null) {
-            switch (state) {
-                case ALL:
-                    return bookingRepository.findByBookerIdOrderByEndDateDesc(viewerId);
-                case PAST:
-                    return bookingRepository.findByBookerIdAndEndDateBeforeOrderByEndDateDesc(viewerId, now);
-                case CURRENT:
-                    return bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByEndDateDesc(viewerId, now, now);
-                case FUTURE:
-                    return bookingRepository.findByBookerIdAndStartDateAfterOrderByEndDateDesc(viewerId, now);
-                case WAITING:
-                case REJECTED:
-                case APPROVED:
-                    return bookingRepository.findByBookerIdAndStatusOrderByEndDateDesc(viewerId, BookingStatus.valueOf(state.toString()));
-            }
+            return checkViewer(viewerId, findUserBookings(viewerId, state, now, Pageable.unpaged()));
         }
+        getUser(viewerId);
         throw new BadRequestException("Ошибочные параметры запроса");
     }
 
     @Override
-    public List<Booking> getBookingsOfUserItems(int viewerId, Integer from, Integer size, BookingFilter state) {
-        getUser(viewerId);
-        LocalDateTime now = LocalDateTime.now();
+    public List<BookingRowDto> getUserBookings(int viewerId, BookingCursor cursor, int size, BookingFilter state) {
+        if (size <= 0) {
+            getUser(viewerId);
+            throw new BadRequestException("Ошибочные параметры запроса");
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        Pageable page = PageRequest.of(0, size);
+        if (cursor.isFirstPage()) {
+            return checkViewer(viewerId, findUserBookings(viewerId, state, now, page));
+        }
+        return checkViewer(viewerId, findUserBookingsAfterCursor(viewerId, cursor, state, now, page));
+    }
+
+    @Override
+    public List<BookingRowDto> getBookingsOfUserItems(int viewerId, Integer from, Integer size, BookingFilter state) {
+        LocalDateTime now = LocalDateTime.now(clock);
         if (from != null && size != null) {
-            Pageable page = PageRequest.of(from, size);
-            switch (state) {
-                case ALL:
-                    return bookingRepository.findByOwnerId(viewerId, page);
-                case PAST:
-                    return bookingRepository.findByOwnerIdPast(viewerId, now, page);
-                case CURRENT:
-                    return bookingRepository.findByOwnerIdCurrent(viewerId, now, now, page);
-                case FUTURE:
-                    return bookingRepository.findByOwnerIdFuture(viewerId, now, page);
-                case WAITING:
-                case REJECTED:
-                case APPROVED:
-                    return bookingRepository.findByOwnerIdAndStatus(viewerId, BookingStatus.valueOf(state.toString()), page);
-            }
+            return checkViewer(viewerId, findOwnerBookings(viewerId, state, now, PageRequest.of(from, size)));
         } else if (from == null && size == null) {
-            switch (state) {
-                case ALL:
-                    return bookingRepository.findByOwnerId(viewerId);
-                case PAST:
-                    return bookingRepository.findByOwnerIdPast(viewerId, now);
-                case CURRENT:
-                    return bookingRepository.findByOwnerIdCurrent(viewerId, now, now);
-                case FUTURE:
-                    return bookingRepository.findByOwnerIdFuture(viewerId, now);
-                case WAITING:
-                case REJECTED:
-                case APPROVED:
-                    return bookingRepository.findByOwnerIdAndStatus(viewerId, BookingStatus.valueOf(state.toString()));
-            }
+            return checkViewer(viewerId, findOwnerBookings(viewerId, state, now, Pageable.unpaged()));
         }
+        getUser(viewerId);
         throw new BadRequestException("Ошибочные параметры запроса");
     }
 
+    /**
+     * A non-empty result proves the viewer exists, so the user is only looked up when nothing was found.
+     */
+    private List<BookingRowDto> checkViewer(int viewerId, List<BookingRowDto> bookings) {
+        if (bookings.isEmpty()) {
+            getUser(viewerId);
+        }
+        return bookings;
+    }
+
+    private List<BookingRowDto> findUserBookingsAfterCursor(int bookerId, BookingCursor cursor, BookingFilter state,
+                                                            LocalDateTime now, Pageable page) {
+        LocalDateTime endDate = cursor.getEndDate();
+        Integer id = cursor.getId();
+        switch (state) {
+            case ALL:
+                return bookingRepository.findRowsByBookerIdAfterCursor(bookerId, endDate, id, page);
+            case PAST:
+                return bookingRepository.findPastRowsByBookerIdAfterCursor(bookerId, endDate, id, now, page);
+            case CURRENT:
+                return bookingRepository.findCurrentRowsByBookerIdAfterCursor(bookerId, endDate, id, now, page);
+            case FUTURE:
+                return bookingRepository.findFutureRowsByBookerIdAfterCursor(bookerId, endDate, id, now, page);
+            case WAITING:
+            case REJECTED:
+            case APPROVED:
+                return bookingRepository.findRowsByBookerIdAndStatusAfterCursor(bookerId, endDate, id, BookingStatus.valueOf(state.toString()), page);
+        }
+        throw new BadRequestException("Ошибочные параметры запроса");
+    }
+
+    private List<BookingRowDto> findUserBookings(int bookerId, BookingFilter state, LocalDateTime now, Pageable page) {
+        switch (state) {
+            case ALL:
+                return bookingRepository.findRowsByBookerId(bookerId, page);
+            case PAST:
+                return bookingRepository.findPastRowsByBookerId(bookerId, now, page);
+            case CURRENT:
+                return bookingRepository.findCurrentRowsByBookerId(bookerId, now, page);
+            case FUTURE:
+                return bookingRepository.findFutureRowsByBookerId(bookerId, now, page);
+            case WAITING:
+            case REJECTED:
+            case APPROVED:
+                return bookingRepository.findRowsByBookerIdAndStatus(bookerId, BookingStatus.valueOf(state.toString()), page);
+        }
+        throw new BadRequestException("Ошибочные параметры запроса");
+    }
+
+    private List<BookingRowDto> findOwnerBookings(int ownerId, BookingFilter state, LocalDateTime now, Pageable page) {
+        switch (state) {
+            case ALL:
+                return bookingRepository.findRowsByOwnerId(ownerId, page);
+            case PAST:
+                return bookingRepository.findPastRowsByOwnerId(ownerId, now, page);
+            case CURRENT:
+                return bookingRepository.findCurrentRowsByOwnerId(ownerId, now, page);
+            case FUTURE:
+                return bookingRepository.findFutureRowsByOwnerId(ownerId, now, page);
+            case WAITING:
+            case REJECTED:
+            case APPROVED:
+                return bookingRepository.findRowsByOwnerIdAndStatus(ownerId, BookingStatus.valueOf(state.toString()), page);
+        }
+        throw new BadRequestException("Ошибочные параметры запроса");
+    }
+
+    private void checkBookable(int bookerId, Item item) {
+        if (!item.getAvailable()) {
+            throw new BadRequestException("Вещь не доступна id=" + item.getId());
+        }
+        if (item.getOwner().getId() == bookerId) {
+            throw new NotFoundException("Вещь не доступна id=" + item.getId());
+        }
+    }
+
+    private void checkApprovable(int viewerId, Booking booking) {
+        if (booking.getItem().getOwner().getId() != viewerId) {
+            throw new NotFoundException("Пользователь id=" + viewerId +
+                    " не является владельцем вещи id=" + booking.getItem().getId());
+        }
+        if (booking.getStatus().equals(BookingStatus.APPROVED)) {
+            throw new BadRequestException("Бронь id=" + booking.getId() + " уже одобрена");
+        }
+    }
+
+    private List<BookingBatchResultDto> mapToBatchResults(int size, Map<Integer, Booking> accepted,
+                                                          Map<Integer, RuntimeException> rejected) {
+        List<BookingBatchResultDto> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(accepted.containsKey(i)
+                    ? mapToBatchResult(i, accepted.get(i))
+                    : mapToBatchResult(i, rejected.get(i)));
+        }
+        return results;
+    }
+
+    private void saveAll(Collection<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        bookingRepository.saveAll(bookings);
+        bookingRepository.flush();
+    }
+
+    /**
+     * Runs a batch in a transaction of its own. A batch checks its elements against the periods it read first,
+     * a booking committed by another transaction after that read still trips the overlap constraint on flush
+     * and aborts the whole transaction. The batch then runs again: the periods it reads now include the other
+     * booking, so the conflicting elements are rejected one by one and the others are saved.
+     */
+    private List<BookingBatchResultDto> retryOnOverlap(Supplier<List<BookingBatchResultDto>> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> batch.get());
+            } catch (DataIntegrityViolationException e) {
+                if (!isOverlap(e)) {
+                    throw e;
+                }
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    throw new BadRequestException("Бронирования пакета пересекаются с существующими");
+                }
+            }
+        }
+    }
+
+    private Booking saveWithoutOverlap(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlap(e)) {
+                throw e;
+            }
+            throw new BadRequestException("Вещь уже забронирована на эти даты id=" + booking.getItem().getId());
+        }
+    }
+
+    /**
+     * Only the {@code bookings_item_period_excl} constraint means an overlap, other integrity violations
+     * (a missing item or booker, a null column) are errors of the server. The PostgreSQL driver reports
+     * a failed batch as a BatchUpdateException with the real error chained as the next exception.
+     */
+    private static boolean isOverlap(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                for (SQLException sqlException = (SQLException) cause; sqlException != null;
+                     sqlException = sqlException.getNextException()) {
+                    if (EXCLUSION_VIOLATION.equals(sqlException.getSQLState())
+                            || String.valueOf(sqlException.getMessage()).contains(OVERLAP_CONSTRAINT)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     private User getUser(int userId) {
         return userRepository.findById(userId).orElseThrow(() ->
                 new NotFoundException("Такого пользователя нет в базе id=" + userId));
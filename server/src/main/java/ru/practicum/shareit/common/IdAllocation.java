@@ -0,0 +1,9 @@
+package ru.practicum.shareit.common;
+
+public class IdAllocation {
+    /**
+     * Ids fetched from a table sequence per round-trip. Must match {@code INCREMENT BY} of the sequences
+     * created in {@code V5__switch_ids_to_sequences.sql}.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+}
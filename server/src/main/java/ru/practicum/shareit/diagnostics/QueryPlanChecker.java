@@ -0,0 +1,134 @@
+package ru.practicum.shareit.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Explains every distinct SELECT the application runs, once, with the parameters of its first execution,
+ * and reports the plans that fall back to a sequential scan. Statements come from the JDBC proxy,
+ * so the checked SQL is exactly what Hibernate generates. EXPLAIN runs on the given executor against
+ * the pool behind the proxy, its own statements are not checked.
+ * Meant to be switched on against a seeded PostgreSQL database.
+ * {@link RepositoryQueryPlans} also explains every repository query once at startup,
+ * statements run inside {@link #capture} are handed to it instead of being explained in the background.
+ */
+@Slf4j
+public class QueryPlanChecker implements QueryExecutionListener {
+
+    private static final List<String> SEQUENTIAL_SCANS = List.of("Seq Scan", "tableScan");
+    private static final int MAX_STATEMENTS = 1000;
+    private static final ThreadLocal<Map<String, Object[]>> CAPTURED = new ThreadLocal<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor executor;
+    private final Set<String> explained = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sequentialScans = new AtomicInteger();
+
+    QueryPlanChecker(DataSource dataSource, Executor executor) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.executor = executor;
+    }
+
+    public int getSequentialScans() {
+        return sequentialScans.get();
+    }
+
+    /**
+     * Runs the action and returns the distinct SELECTs it executed on the calling thread,
+     * with the parameters of their first execution, in execution order.
+     */
+    static Map<String, Object[]> capture(Runnable action) {
+        Map<String, Object[]> captured = new LinkedHashMap<>();
+        CAPTURED.set(captured);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+
+    static List<String> plan(JdbcTemplate jdbcTemplate, String sql, Object[] parameters) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    static boolean isSequentialScan(List<String> plan) {
+        return plan.stream().anyMatch(line -> SEQUENTIAL_SCANS.stream().anyMatch(line::contains));
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!execInfo.isSuccess() || execInfo.isBatch()) {
+            return;
+        }
+        Map<String, Object[]> captured = CAPTURED.get();
+        for (QueryInfo query : queryInfoList) {
+            String sql = query.getQuery();
+            if (captured != null) {
+                if (isSelect(sql)) {
+                    captured.putIfAbsent(sql, parameters(query));
+                }
+            } else if (isSelect(sql) && explained.size() < MAX_STATEMENTS && explained.add(sql)) {
+                Object[] parameters = parameters(query);
+                executor.execute(() -> explain(sql, parameters));
+            }
+        }
+    }
+
+    private void explain(String sql, Object[] parameters) {
+        try {
+            List<String> plan = plan(jdbcTemplate, sql, parameters);
+            if (isSequentialScan(plan)) {
+                log.warn("План запроса использует последовательное сканирование ({} из {} запросов):\n{}\n{}",
+                        sequentialScans.incrementAndGet(), explained.size(), sql, String.join("\n", plan));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Не удалось получить план запроса {}: {}", sql, e.getMessage());
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    /**
+     * Parameters of the first execution by position, {@code setNull} gives null.
+     */
+    private static Object[] parameters(QueryInfo query) {
+        if (query.getParametersList().isEmpty()) {
+            return new Object[0];
+        }
+        List<ParameterSetOperation> operations = query.getParametersList().get(0);
+        int count = operations.stream()
+                .mapToInt(operation -> (Integer) operation.getArgs()[0])
+                .max()
+                .orElse(0);
+        Object[] parameters = new Object[count];
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            parameters[(Integer) args[0] - 1] = ParameterSetOperation.isSetNullParameterOperation(operation)
+                    ? null
+                    : args[1];
+        }
+        return parameters;
+    }
+}
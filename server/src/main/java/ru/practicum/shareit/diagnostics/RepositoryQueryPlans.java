@@ -0,0 +1,211 @@
+package ru.practicum.shareit.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Explains every repository query once when the application is ready, behind
+ * {@code shareit.diagnostics.query-plan-check}, instead of waiting for traffic to reach them.
+ * A small dataset is seeded in a transaction that is rolled back at the end, the queries run against it
+ * with its ids and are explained on the same connection. PostgreSQL would scan tables that small sequentially
+ * anyway, so sequential scans are disabled for the transaction: a plan that still has one has no index to use.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.diagnostics.query-plan-check", havingValue = "true")
+@Slf4j
+public class RepositoryQueryPlans {
+
+    private static final int SEED_ITEMS = 20;
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<String, List<String>> sequentialScans = new LinkedHashMap<>();
+    private int explained;
+
+    public RepositoryQueryPlans(UserRepository userRepository, ItemRequestRepository itemRequestRepository,
+                                ItemRepository itemRepository, BookingRepository bookingRepository,
+                                CommentRepository commentRepository, ItemSearchEngine itemSearchEngine,
+                                DataSource dataSource, PlatformTransactionManager transactionManager, Clock clock) {
+        this.userRepository = userRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.itemSearchEngine = itemSearchEngine;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    public int getExplained() {
+        return explained;
+    }
+
+    public Map<String, List<String>> getSequentialScans() {
+        return Collections.unmodifiableMap(sequentialScans);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            if (isPostgres()) {
+                jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            }
+            Seed seed = seed();
+            entityManager.flush();
+            entityManager.clear();
+            QueryPlanChecker.capture(() -> runQueries(seed)).forEach(this::explain);
+        });
+        if (sequentialScans.isEmpty()) {
+            log.info("Планы запросов репозиториев проверены, запросов: {}, последовательных сканирований нет", explained);
+        } else {
+            log.warn("Планы запросов репозиториев проверены, запросов: {}, с последовательным сканированием: {}",
+                    explained, sequentialScans.size());
+        }
+    }
+
+    private void explain(String sql, Object[] parameters) {
+        List<String> plan = QueryPlanChecker.plan(jdbcTemplate, sql, parameters);
+        explained++;
+        if (QueryPlanChecker.isSequentialScan(plan)) {
+            sequentialScans.put(sql, plan);
+            log.warn("План запроса репозитория использует последовательное сканирование:\n{}\n{}",
+                    sql, String.join("\n", plan));
+        }
+    }
+
+    private Seed seed() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        User owner = userRepository.save(new User(null, "query plans owner", "query-plans-owner@shareit.local"));
+        User booker = userRepository.save(new User(null, "query plans booker", "query-plans-booker@shareit.local"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "нужна дрель", booker, now.minusDays(30)));
+        List<Item> items = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < SEED_ITEMS; i++) {
+            Item item = itemRepository.save(new Item(null, "дрель " + i, "аккумуляторная дрель", true, owner,
+                    i % 2 == 0 ? request : null));
+            items.add(item);
+            bookings.add(bookingRepository.save(new Booking(null, now.minusDays(10), now.minusDays(9), item, booker,
+                    BookingStatus.APPROVED)));
+            bookings.add(bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4), item, booker,
+                    BookingStatus.WAITING)));
+            commentRepository.save(new Comment(null, "отличная дрель", item, booker, now.minusDays(8)));
+        }
+        return new Seed(owner, booker, request, items, bookings, now);
+    }
+
+    private void runQueries(Seed seed) {
+        int ownerId = seed.owner.getId();
+        int bookerId = seed.booker.getId();
+        Item item = seed.items.get(0);
+        Booking booking = seed.bookings.get(0);
+        Set<Integer> itemIds = Set.of(item.getId(), seed.items.get(1).getId());
+        LocalDateTime now = seed.now;
+
+        userRepository.findById(bookerId);
+        userRepository.findAll();
+
+        itemRequestRepository.findById(seed.request.getId());
+        itemRequestRepository.findByRequesterIdOrderByCreatedDesc(bookerId);
+        itemRequestRepository.findAll(PAGE);
+
+        itemRepository.findById(item.getId());
+        itemRepository.findByOwnerIdOrderById(ownerId);
+        itemRepository.findByOwnerIdOrderById(ownerId, PAGE);
+        itemRepository.findSearchDocumentsAfter(0, PAGE);
+        itemRepository.findExistingIds(itemIds);
+        itemRepository.findByRequestId(seed.request.getId());
+        itemRepository.findByRequestIdIn(Set.of(seed.request.getId()));
+        itemSearchEngine.search("дрель", PAGE);
+
+        commentRepository.findByItemIdOrderByCreatedDesc(item.getId());
+        commentRepository.findByItemIdIn(itemIds);
+
+        bookingRepository.findById(booking.getId());
+        bookingRepository.findByIdIn(List.of(booking.getId()));
+        bookingRepository.findRowsByBookerId(bookerId, PAGE);
+        bookingRepository.findPastRowsByBookerId(bookerId, now, PAGE);
+        bookingRepository.findCurrentRowsByBookerId(bookerId, now, PAGE);
+        bookingRepository.findFutureRowsByBookerId(bookerId, now, PAGE);
+        bookingRepository.findRowsByBookerIdAndStatus(bookerId, BookingStatus.WAITING, PAGE);
+        bookingRepository.findRowsByBookerIdAfterCursor(bookerId, booking.getEndDate(), booking.getId(), PAGE);
+        bookingRepository.findPastRowsByBookerIdAfterCursor(bookerId, booking.getEndDate(), booking.getId(), now, PAGE);
+        bookingRepository.findCurrentRowsByBookerIdAfterCursor(bookerId, booking.getEndDate(), booking.getId(), now, PAGE);
+        bookingRepository.findFutureRowsByBookerIdAfterCursor(bookerId, booking.getEndDate(), booking.getId(), now, PAGE);
+        bookingRepository.findRowsByBookerIdAndStatusAfterCursor(bookerId, booking.getEndDate(), booking.getId(),
+                BookingStatus.WAITING, PAGE);
+        bookingRepository.findRowsByOwnerId(ownerId, PAGE);
+        bookingRepository.findPastRowsByOwnerId(ownerId, now, PAGE);
+        bookingRepository.findCurrentRowsByOwnerId(ownerId, now, PAGE);
+        bookingRepository.findFutureRowsByOwnerId(ownerId, now, PAGE);
+        bookingRepository.findRowsByOwnerIdAndStatus(ownerId, BookingStatus.WAITING, PAGE);
+        bookingRepository.findByItemIdAndStatus(item.getId(), BookingStatus.APPROVED);
+        bookingRepository.findPeriodsByItemIdInAndStatus(itemIds, BookingStatus.APPROVED);
+        bookingRepository.findPeriodsByItemIdInAndStatusIn(itemIds, List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+        bookingRepository.existsByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(item.getId(),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), now.plusDays(4), now.plusDays(3));
+        bookingRepository.findLastAndNextByItemIdInAndStatus(itemIds, BookingStatus.APPROVED, now);
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    @RequiredArgsConstructor
+    private static class Seed {
+        private final User owner;
+        private final User booker;
+        private final ItemRequest request;
+        private final List<Item> items;
+        private final List<Booking> bookings;
+        private final LocalDateTime now;
+    }
+}
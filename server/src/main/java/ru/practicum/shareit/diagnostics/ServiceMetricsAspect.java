@@ -0,0 +1,84 @@
+package ru.practicum.shareit.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.filter.BookingFilter;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call of the item, booking, item request and user services as {@code shareit.service}.
+ * Calls are tagged with the service and method, the {@link BookingFilter} state ({@code none} if the method takes none),
+ * whether the call was paginated (offset {@code from}/{@code size} or a {@link BookingCursor})
+ * and the exception thrown, so slow owner/booker/filter combinations can be told apart.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String METRIC = "shareit.service";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* ru.practicum.shareit.item.service.ItemService.*(..))"
+            + " || execution(* ru.practicum.shareit.booking.service.BookingService.*(..))"
+            + " || execution(* ru.practicum.shareit.request.service.ItemRequestService.*(..))"
+            + " || execution(* ru.practicum.shareit.user.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Object[] args = joinPoint.getArgs();
+        String exception = NONE;
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder(METRIC)
+                    .tag("service", signature.getDeclaringType().getSimpleName())
+                    .tag("method", signature.getName())
+                    .tag("state", state(args))
+                    .tag("paginated", String.valueOf(isPaginated(signature.getParameterNames(), args)))
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String state(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BookingFilter) {
+                return ((BookingFilter) arg).name();
+            }
+        }
+        return NONE;
+    }
+
+    private static boolean isPaginated(String[] names, Object[] args) {
+        Object from = null;
+        Object size = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof BookingCursor) {
+                return true;
+            }
+            if (names != null && "from".equals(names[i])) {
+                from = args[i];
+            }
+            if (names != null && "size".equals(names[i])) {
+                size = args[i];
+            }
+        }
+        return from != null && size != null;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.diagnostics;
+
+import java.util.Map;
+
+/**
+ * Statement count assertions for tests, for example
+ * {@code assertStatementsAtMost(3, () -> mockMvc.perform(get("/items").header(X_SHARER_USER_ID, 1)))}.
+ * Statements are counted on the calling thread, so the action has to execute them there
+ * (MockMvc, a direct service or repository call), a request sent over the network is not seen.
+ */
+public class SqlAssertions {
+
+    public static SqlStatistics count(SqlAction action) throws Exception {
+        SqlStatistics statistics;
+        SqlStatementCounter.start();
+        try {
+            action.run();
+        } finally {
+            statistics = SqlStatementCounter.stop();
+        }
+        return statistics;
+    }
+
+    public static SqlStatistics assertStatementsAtMost(long maxStatements, SqlAction action) throws Exception {
+        SqlStatistics statistics = count(action);
+        if (statistics.getStatements() > maxStatements) {
+            throw new AssertionError(String.format("Ожидалось не больше %d SQL-запросов, выполнено %d:%n%s",
+                    maxStatements, statistics.getStatements(), describe(statistics.getStatementsBySql())));
+        }
+        return statistics;
+    }
+
+    public static SqlStatistics assertNoRepeatedStatements(int maxRepeats, SqlAction action) throws Exception {
+        SqlStatistics statistics = count(action);
+        Map<String, StatementStatistics> repeated = statistics.getRepeated(maxRepeats);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError(String.format("Запросы выполнены больше %d раз (N+1):%n%s",
+                    maxRepeats, describe(repeated)));
+        }
+        return statistics;
+    }
+
+    private static String describe(Map<String, StatementStatistics> statements) {
+        StringBuilder description = new StringBuilder();
+        statements.forEach((sql, statement) ->
+                description.append(statement.getCount()).append(" x ").append(sql).append(System.lineSeparator()));
+        return description.toString();
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.diagnostics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Thresholds of {@link SqlThresholdFilter}, checked for every HTTP request in the dev and test profiles.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.diagnostics.sql")
+public class SqlDiagnosticsProperties {
+
+    private int maxStatements = 10;
+    private int maxRepeats = 3;
+    private Duration slowQuery = Duration.ofMillis(200);
+    private Action action = Action.LOG;
+
+    public enum Action {
+        LOG,
+        FAIL
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.diagnostics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(SqlDiagnosticsProperties.class)
+public class SqlMetricsConfig {
+
+    /**
+     * Wraps the pool so every statement passes {@link SqlStatementCounter}, the pool itself stays reachable
+     * through {@link DataSource#unwrap(Class)} for the Hikari metrics.
+     * With {@code shareit.diagnostics.query-plan-check} the statements also pass {@link QueryPlanChecker}.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingPostProcessor(Environment environment) {
+        boolean checkPlans = environment.getProperty("shareit.diagnostics.query-plan-check", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create((DataSource) bean)
+                            .name(beanName)
+                            .listener(new SqlStatementCounter());
+                    if (checkPlans) {
+                        builder.listener(new QueryPlanChecker((DataSource) bean, Executors.newSingleThreadExecutor(
+                                runnable -> {
+                                    Thread thread = new Thread(runnable, "query-plan-checker");
+                                    thread.setDaemon(true);
+                                    return thread;
+                                })));
+                    }
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.diagnostics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Collects {@link SqlStatistics} for the current thread between {@link #start()} and {@link #stop()},
+ * statements of threads that have not started counting are ignored.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<SqlStatistics> STATISTICS = new ThreadLocal<>();
+    private static final ThreadLocal<Long> QUERY_STARTED = new ThreadLocal<>();
+
+    public static void start() {
+        STATISTICS.set(new SqlStatistics(STATISTICS.get()));
+    }
+
+    public static SqlStatistics stop() {
+        SqlStatistics statistics = STATISTICS.get();
+        if (statistics == null) {
+            return new SqlStatistics(null);
+        }
+        if (statistics.getParent() != null) {
+            STATISTICS.set(statistics.getParent());
+        } else {
+            STATISTICS.remove();
+        }
+        return statistics;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (STATISTICS.get() != null) {
+            QUERY_STARTED.set(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = STATISTICS.get();
+        Long started = QUERY_STARTED.get();
+        if (statistics != null && started != null) {
+            QUERY_STARTED.remove();
+            String sql = queryInfoList.size() == 1
+                    ? queryInfoList.get(0).getQuery()
+                    : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            statistics.record(sql, System.nanoTime() - started);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.diagnostics;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC statements executed by one thread since {@link SqlStatementCounter#start()} and the time spent in them,
+ * in total and per SQL text. A JDBC batch counts as one statement.
+ * Counting can be nested, statements of a nested counter are also added to the enclosing one.
+ */
+public class SqlStatistics {
+
+    private final SqlStatistics parent;
+    private final Map<String, StatementStatistics> bySql = new LinkedHashMap<>();
+    @Getter
+    private long statements;
+    @Getter
+    private long nanos;
+
+    SqlStatistics(SqlStatistics parent) {
+        this.parent = parent;
+    }
+
+    SqlStatistics getParent() {
+        return parent;
+    }
+
+    public Map<String, StatementStatistics> getStatementsBySql() {
+        return Collections.unmodifiableMap(bySql);
+    }
+
+    /**
+     * Statements executed more than {@code maxRepeats} times with different parameters, the N+1 pattern.
+     */
+    public Map<String, StatementStatistics> getRepeated(int maxRepeats) {
+        return filter(statement -> statement.getCount() > maxRepeats);
+    }
+
+    public Map<String, StatementStatistics> getSlowerThan(Duration threshold) {
+        return filter(statement -> statement.getMaxNanos() > threshold.toNanos());
+    }
+
+    void record(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        bySql.computeIfAbsent(sql, s -> new StatementStatistics()).record(elapsedNanos);
+        if (parent != null) {
+            parent.record(sql, elapsedNanos);
+        }
+    }
+
+    private Map<String, StatementStatistics> filter(Predicate<StatementStatistics> condition) {
+        return bySql.entrySet().stream()
+                .filter(entry -> condition.test(entry.getValue()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+}
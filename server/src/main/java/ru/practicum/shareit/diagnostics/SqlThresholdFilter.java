@@ -0,0 +1,83 @@
+package ru.practicum.shareit.diagnostics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ru.practicum.shareit.exception.ExceptionResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the statements of every request against {@link SqlDiagnosticsProperties}: too many statements,
+ * one statement repeated with different parameters (N+1) and slow statements.
+ * Violations are logged or, with {@code action=fail}, replace the response with a 500 naming them.
+ * To be replaced, the response is buffered until the request completes, so with {@code action=fail}
+ * nothing reaches the client before the handler returns.
+ */
+@Component
+@Profile({"dev", "test"})
+@RequiredArgsConstructor
+@Slf4j
+public class SqlThresholdFilter extends OncePerRequestFilter {
+
+    private final SqlDiagnosticsProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (properties.getAction() == SqlDiagnosticsProperties.Action.FAIL) {
+            ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+            List<String> violations = count(request, buffered, filterChain);
+            if (!violations.isEmpty()) {
+                violations.forEach(log::error);
+                buffered.resetBuffer();
+                buffered.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                buffered.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(buffered.getOutputStream(), new ExceptionResponse(String.join("\n", violations)));
+            }
+            buffered.copyBodyToResponse();
+            return;
+        }
+        count(request, response, filterChain).forEach(log::warn);
+    }
+
+    private List<String> count(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics;
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statistics = SqlStatementCounter.stop();
+        }
+        return violations(request.getMethod() + " " + request.getRequestURI(), statistics);
+    }
+
+    private List<String> violations(String request, SqlStatistics statistics) {
+        List<String> violations = new ArrayList<>();
+        if (statistics.getStatements() > properties.getMaxStatements()) {
+            violations.add(String.format("%s выполнил %d SQL-запросов, допустимо %d",
+                    request, statistics.getStatements(), properties.getMaxStatements()));
+        }
+        statistics.getRepeated(properties.getMaxRepeats()).forEach((sql, statement) ->
+                violations.add(String.format("%s: N+1, запрос выполнен %d раз: %s", request, statement.getCount(), sql)));
+        statistics.getSlowerThan(properties.getSlowQuery()).forEach((sql, statement) ->
+                violations.add(String.format("%s: медленный запрос (%d мс): %s",
+                        request, TimeUnit.NANOSECONDS.toMillis(statement.getMaxNanos()), sql)));
+        return violations;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.diagnostics;
+
+import lombok.Getter;
+
+/**
+ * Executions of one SQL text, statements that differ only in parameters share it.
+ */
+@Getter
+public class StatementStatistics {
+
+    private int count;
+    private long totalNanos;
+    private long maxNanos;
+
+    void record(long elapsedNanos) {
+        count++;
+        totalNanos += elapsedNanos;
+        maxNanos = Math.max(maxNanos, elapsedNanos);
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -9,35 +11,62 @@ import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.NotUniqueEmailException;
 import ru.practicum.shareit.exception.model.BadRequestException;
 
+import java.time.Duration;
+
+/**
+ * Every handled exception is counted as {@code shareit.errors} by type and status.
+ * Expected client errors are logged by message only and rate-limited per type, unexpected ones with the full trace.
+ */
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final ErrorLogLimiter logLimiter;
+
+    public ErrorHandler(MeterRegistry meterRegistry, @Value("${shareit.errors.log-interval}") Duration logInterval) {
+        this.meterRegistry = meterRegistry;
+        this.logLimiter = new ErrorLogLimiter(logInterval);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ExceptionResponse handleInvalidRequestBodyException(final BadRequestException e) {
-        log.warn(e.getMessage(), e);
-        return new ExceptionResponse(e.getMessage());
+        return handleExpected(e, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ExceptionResponse handleNotFoundException(final NotFoundException e) {
-        log.warn(e.getMessage(), e);
-        return new ExceptionResponse(e.getMessage());
+        return handleExpected(e, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
     public ExceptionResponse handleNotUniqueEmailException(final NotUniqueEmailException e) {
-        log.warn(e.getMessage(), e);
-        return new ExceptionResponse(e.getMessage());
+        return handleExpected(e, HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ExceptionResponse handleThrowable(final Throwable e) {
+        count(e, HttpStatus.INTERNAL_SERVER_ERROR);
         log.warn(e.getMessage(), e);
         return new ExceptionResponse(e.getMessage());
     }
+
+    private ExceptionResponse handleExpected(RuntimeException e, HttpStatus status) {
+        count(e, status);
+        long heldBack = logLimiter.tryAcquire(e.getClass());
+        if (heldBack >= 0) {
+            log.warn("{}: {} (пропущено похожих: {})", e.getClass().getSimpleName(), e.getMessage(), heldBack);
+        }
+        return new ExceptionResponse(e.getMessage());
+    }
+
+    private void count(Throwable e, HttpStatus status) {
+        meterRegistry.counter("shareit.errors",
+                "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
 }
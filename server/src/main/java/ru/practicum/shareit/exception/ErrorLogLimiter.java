@@ -0,0 +1,44 @@
+package ru.practicum.shareit.exception;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through at most one log record per exception type per interval and counts the ones held back,
+ * so a burst of expected client errors costs a counter increment instead of a log line each.
+ */
+public class ErrorLogLimiter {
+
+    private final long intervalNanos;
+    private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    public ErrorLogLimiter(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Returns how many records of this type were held back since the last one let through,
+     * or -1 if this record has to be held back as well.
+     */
+    public long tryAcquire(Class<?> type) {
+        Window window = windows.computeIfAbsent(type, t -> new Window(System.nanoTime()));
+        long now = System.nanoTime();
+        long nextAllowed = window.nextAllowed.get();
+        if (now - nextAllowed >= 0 && window.nextAllowed.compareAndSet(nextAllowed, now + intervalNanos)) {
+            return window.heldBack.getAndSet(0);
+        }
+        window.heldBack.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+        private final AtomicLong nextAllowed;
+        private final AtomicLong heldBack = new AtomicLong();
+
+        private Window(long nextAllowed) {
+            this.nextAllowed = new AtomicLong(nextAllowed);
+        }
+    }
+}
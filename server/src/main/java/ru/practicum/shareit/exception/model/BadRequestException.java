@@ -1,7 +1,10 @@
 package ru.practicum.shareit.exception.model;
 
+/**
+ * Answered with 400 Bad Request. An expected outcome of client input, so no stack trace is filled in.
+ */
 public class BadRequestException extends RuntimeException {
     public BadRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
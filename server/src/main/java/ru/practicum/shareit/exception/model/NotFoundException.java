@@ -1,7 +1,10 @@
 package ru.practicum.shareit.exception.model;
 
+/**
+ * Answered with 404 Not Found. Thrown on every lookup of a missing id, so it is created without a stack trace.
+ */
 public class NotFoundException extends RuntimeException {
     public NotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.exception.model;
 
+/**
+ * Answered with 409 Conflict. Like the other domain exceptions it carries no stack trace.
+ */
 public class NotUniqueEmailException extends RuntimeException {
     public NotUniqueEmailException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -1,12 +1,27 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.service.ItemAvailabilityService;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.common.Header.X_SHARER_USER_ID;
@@ -19,6 +34,9 @@ import static ru.practicum.shareit.item.mapper.ItemMapper.map;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemAvailabilityService itemAvailabilityService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
 
     //-----------------------------------------------ITEM ENDPOINTS-----------------------------------------------------
 
@@ -28,6 +46,32 @@ public class ItemController {
         return map(itemService.add(itemDto, ownerId));
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ItemImportResultDto importItems(@RequestHeader(name = X_SHARER_USER_ID) int ownerId,
+                                           @RequestHeader(name = HttpHeaders.CONTENT_TYPE) String contentType,
+                                           InputStream body) {
+        return itemImportService.importItems(ownerId, ItemImportFormat.of(contentType), body);
+    }
+
+    /**
+     * Same import, answered with one NDJSON line of counters per batch as soon as it is committed,
+     * the last line is the complete result with the errors. The import runs on the servlet thread,
+     * so it is not cut by the MVC async request timeout.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    public void importItemsWithProgress(@RequestHeader(name = X_SHARER_USER_ID) int ownerId,
+                                        @RequestHeader(name = HttpHeaders.CONTENT_TYPE) String contentType,
+                                        InputStream body,
+                                        HttpServletResponse response) throws IOException {
+        ItemImportFormat format = ItemImportFormat.of(contentType);
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        ItemImportResultDto result = itemImportService.importItems(ownerId, format, body,
+                progress -> writeLine(out, progress));
+        writeLine(out, result);
+    }
+
     @GetMapping("/{itemId}")
     public ItemDtoWithBookingsAndComments get(@PathVariable int itemId,
                                               @RequestHeader(name = X_SHARER_USER_ID) int viewerId) {
@@ -56,6 +100,32 @@ public class ItemController {
         return map(itemService.update(itemId, ownerId, itemDto));
     }
 
+    //-------------------------------------------AVAILABILITY ENDPOINTS-------------------------------------------------
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable int itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemAvailabilityService.get(itemId, from, to);
+    }
+
+    @GetMapping("/availability")
+    public List<ItemAvailabilityDto> getAvailability(@RequestParam List<Integer> ids,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemAvailabilityService.get(ids, from, to);
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     //----------------------------------------------COMMENT ENDPOINTS---------------------------------------------------
 
     @PostMapping("/{itemId}/comment")
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ItemAvailabilityDto {
+
+    private Integer itemId;
+    private List<AvailabilityWindowDto> freeWindows;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Counters of an import after a committed batch, streamed to the client while the import goes on.
+ */
+@Data
+@AllArgsConstructor
+public class ItemImportProgressDto {
+
+    private long processed;
+    private long imported;
+    private long failed;
+}
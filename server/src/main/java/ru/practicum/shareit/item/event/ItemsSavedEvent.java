@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ItemsSavedEvent {
+
+    private final List<Item> items;
+}
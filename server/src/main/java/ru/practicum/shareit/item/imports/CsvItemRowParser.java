@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.imports;
+
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses CSV rows with a header naming the columns {@code name}, {@code description}, {@code available}
+ * and optionally {@code requestId}, in any order. Fields may be quoted, quotes inside are doubled,
+ * a quoted field can not span several lines.
+ */
+public class CsvItemRowParser implements ItemRowParser {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final int nameColumn;
+    private final int descriptionColumn;
+    private final int availableColumn;
+    private final int requestIdColumn;
+
+    public CsvItemRowParser(String header) {
+        if (header == null) {
+            throw new BadRequestException("Файл импорта пуст");
+        }
+        List<String> columns = split(header.replace("\uFEFF", ""));
+        columns.replaceAll(column -> column.trim().toLowerCase(Locale.ROOT));
+        nameColumn = columns.indexOf("name");
+        descriptionColumn = columns.indexOf("description");
+        availableColumn = columns.indexOf("available");
+        requestIdColumn = columns.indexOf("requestid");
+        if (nameColumn < 0 || descriptionColumn < 0 || availableColumn < 0) {
+            throw new BadRequestException("В заголовке CSV должны быть колонки name, description и available");
+        }
+    }
+
+    @Override
+    public ItemDto parse(String line) {
+        List<String> fields = split(line);
+        return ItemDto.builder()
+                .name(field(fields, nameColumn))
+                .description(field(fields, descriptionColumn))
+                .available(parseAvailable(field(fields, availableColumn)))
+                .requestId(parseRequestId(field(fields, requestIdColumn)))
+                .build();
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    private static Boolean parseAvailable(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true":
+                return true;
+            case "false":
+                return false;
+            default:
+                throw new BadRequestException("Ошибочный статус вещи: " + value);
+        }
+    }
+
+    private static Integer parseRequestId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Ошибочный id запроса: " + value);
+        }
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new BadRequestException("Незакрытые кавычки в строке CSV");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.imports;
+
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.model.BadRequestException;
+
+import java.util.Arrays;
+
+public enum ItemImportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final MediaType mediaType;
+
+    ItemImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public static ItemImportFormat of(String contentType) {
+        MediaType requested = MediaType.parseMediaType(contentType);
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.isCompatibleWith(requested))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Неподдерживаемый формат импорта: " + contentType));
+    }
+}
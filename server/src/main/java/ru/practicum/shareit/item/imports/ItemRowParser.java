@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.imports;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Turns one line of an import file into an item, throws {@link ru.practicum.shareit.exception.model.BadRequestException}
+ * for a malformed line.
+ */
+public interface ItemRowParser {
+
+    ItemDto parse(String line);
+}
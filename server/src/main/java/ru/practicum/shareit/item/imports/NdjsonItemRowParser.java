@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+public class NdjsonItemRowParser implements ItemRowParser {
+
+    private final ObjectReader reader;
+
+    public NdjsonItemRowParser(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(ItemDto.class);
+    }
+
+    @Override
+    public ItemDto parse(String line) {
+        try {
+            return reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Ошибочный JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Comment;
 
@@ -8,7 +9,9 @@ import java.util.Set;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemIdOrderByCreatedDesc(Integer itemId);
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemIdIn(Set<Integer> itemIds);
 }
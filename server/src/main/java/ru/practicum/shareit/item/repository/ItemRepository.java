@@ -1,19 +1,24 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Integer> {
 
+    @EntityGraph(attributePaths = "request.requester")
     List<Item> findByOwnerIdOrderById(Integer ownerId);
 
+    @EntityGraph(attributePaths = "request.requester")
     List<Item> findByOwnerIdOrderById(Integer ownerId, Pageable pageable);
 
     @Query("SELECT i " +
@@ -21,14 +26,23 @@ public interface ItemRepository extends JpaRepository<Item, Integer> {
             "WHERE i.available = true " +
             "AND (LOWER(i.name) LIKE %?1%" +
             "OR LOWER(i.description) LIKE %?1%)")//db COLLATE and CTYPE settings should be specific to support cyrillic
-    List<Item> findAvailableItemsByWord(String word);
+    List<Item> findAvailableItemsByWord(String word, Pageable pageable);
 
-    @Query("SELECT i " +
+    @Query(value = "SELECT i.* " +
+            "FROM items AS i, to_tsquery('russian', ?1) AS q " +
+            "WHERE i.is_available = true " +
+            "AND i.search_vector @@ q " +
+            "ORDER BY ts_rank(i.search_vector, q) DESC, i.id", nativeQuery = true)
+    List<Item> findAvailableItemsByTsQuery(String tsQuery, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.search.ItemSearchDocument(i.id, i.name, i.description, i.available) " +
             "FROM Item i " +
-            "WHERE i.available = true " +
-            "AND (LOWER(i.name) LIKE %?1%" +
-            "OR LOWER(i.description) LIKE %?1%)")//db COLLATE and CTYPE settings should be specific to support cyrillic
-    List<Item> findAvailableItemsByWord(String word, Pageable pageable);
+            "WHERE i.id > ?1 " +
+            "ORDER BY i.id")
+    List<ItemSearchDocument> findSearchDocumentsAfter(Integer id, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i WHERE i.id IN ?1")
+    Set<Integer> findExistingIds(Collection<Integer> ids);
 
     List<Item> findByRequestId(Integer requestId);
 
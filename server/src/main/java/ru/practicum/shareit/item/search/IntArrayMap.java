@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Map from an int key to an int array with open addressing and linear probing,
+ * without boxing the key or allocating an entry per mapping. Null values are not supported.
+ */
+class IntArrayMap {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private int[][] values = new int[INITIAL_CAPACITY][];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(int key) {
+        return values[slot(key)] != null;
+    }
+
+    int[] get(int key) {
+        return values[slot(key)];
+    }
+
+    void put(int key, int[] value) {
+        int slot = slot(key);
+        if (values[slot] == null) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Backward shift deletion: later entries of the probe chain move into the freed slot,
+     * so lookups never have to skip tombstones.
+     */
+    void remove(int key) {
+        int slot = slot(key);
+        if (values[slot] == null) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int free = slot;
+        int next = (free + 1) & mask;
+        while (values[next] != null) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[free] = null;
+        size--;
+    }
+
+    private int slot(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[][] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity][];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Item ids are sequential, mixing spreads neighbouring ids over the table.
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
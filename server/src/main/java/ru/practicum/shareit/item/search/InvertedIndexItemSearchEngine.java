@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemsSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers searches from an {@link InvertedItemIndex} built from {@link ItemRepository} at startup
+ * and updated after every committed item change, so the database only serves the final page by id.
+ * The page is returned in the order the index ranked it.
+ * Changes committed while the index is loading are indexed by the listener and win over the rows
+ * the load reads later, which may predate them.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "inverted-index")
+@RequiredArgsConstructor
+@Slf4j
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final ItemRepository itemRepository;
+    private final InvertedItemIndex index = new InvertedItemIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int lastId = 0;
+        List<ItemSearchDocument> batch;
+        do {
+            batch = itemRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            batch.forEach(index::indexIfAbsent);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        index.trim();
+        log.info("Поисковый индекс построен, вещей: {}", index.size());
+    }
+
+    @TransactionalEventListener
+    public void onItemsSaved(ItemsSavedEvent event) {
+        event.getItems().forEach(item -> index.index(new ItemSearchDocument(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable())));
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        int[] ids = index.search(SearchTokenizer.terms(text));
+        if (pageable.isPaged()) {
+            int fromIndex = (int) Math.min(pageable.getOffset(), ids.length);
+            ids = Arrays.copyOfRange(ids, fromIndex, Math.min(fromIndex + pageable.getPageSize(), ids.length));
+        }
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        Map<Integer, Item> items = itemRepository.findAllById(Arrays.stream(ids).boxed().collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return Arrays.stream(ids)
+                .mapToObj(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
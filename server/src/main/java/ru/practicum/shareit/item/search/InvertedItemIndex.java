@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of item names and descriptions.
+ * Terms are mapped to int ids, every term id owns a compressed {@link PostingList} of item ids,
+ * availability is kept as a bitmap and combined with the matches by AND.
+ * Matches are ranked like {@code ts_rank} ranks the weighted search vector: by the number of their terms
+ * the query matches, a term of the name counting twice.
+ * Re-indexing an item only touches the posting lists of the terms it gained or lost.
+ */
+public class InvertedItemIndex {
+
+    private final NavigableMap<String, Integer> termIds = new TreeMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final IntArrayMap itemTerms = new IntArrayMap();
+    private final IntArrayMap nameTerms = new IntArrayMap();
+    private final BitSet available = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(ItemSearchDocument document) {
+        index(document, true);
+    }
+
+    /**
+     * Indexes the document only if the item is not indexed yet, so a document read earlier
+     * does not overwrite a newer version indexed meanwhile.
+     */
+    public void indexIfAbsent(ItemSearchDocument document) {
+        index(document, false);
+    }
+
+    public void remove(int itemId) {
+        lock.writeLock().lock();
+        try {
+            int[] previous = itemTerms.get(itemId);
+            if (previous != null) {
+                for (int termId : previous) {
+                    postings.get(termId).remove(itemId);
+                }
+                itemTerms.remove(itemId);
+                nameTerms.remove(itemId);
+            }
+            available.clear(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of available items matching every token as a term prefix, the most relevant first,
+     * items of equal relevance in ascending order of ids.
+     */
+    public int[] search(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) available.clone();
+            BitSet queryTerms = new BitSet();
+            for (String token : tokens) {
+                BitSet matches = new BitSet();
+                for (int termId : termIds.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                    postings.get(termId).orInto(matches);
+                    queryTerms.set(termId);
+                }
+                result.and(matches);
+                if (result.isEmpty()) {
+                    return new int[0];
+                }
+            }
+            return rank(result, queryTerms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return itemTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void trim() {
+        lock.writeLock().lock();
+        try {
+            postings.forEach(PostingList::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sorts the matched ids by descending score and then by id, both packed into one long per item.
+     */
+    private int[] rank(BitSet matches, BitSet queryTerms) {
+        long[] ranked = new long[matches.cardinality()];
+        int i = 0;
+        for (int itemId = matches.nextSetBit(0); itemId >= 0; itemId = matches.nextSetBit(itemId + 1)) {
+            int score = matched(itemTerms.get(itemId), queryTerms) + matched(nameTerms.get(itemId), queryTerms);
+            ranked[i++] = (long) -score << 32 | itemId;
+        }
+        Arrays.sort(ranked);
+        int[] ids = new int[ranked.length];
+        for (i = 0; i < ranked.length; i++) {
+            ids[i] = (int) ranked[i];
+        }
+        return ids;
+    }
+
+    private static int matched(int[] terms, BitSet queryTerms) {
+        int count = 0;
+        for (int termId : terms) {
+            if (queryTerms.get(termId)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void index(ItemSearchDocument document, boolean replace) {
+        int itemId = document.getId();
+        List<String> name = SearchTokenizer.terms(Objects.toString(document.getName(), ""));
+        List<String> terms = SearchTokenizer.terms(Objects.toString(document.getName(), "")
+                + " " + Objects.toString(document.getDescription(), ""));
+        lock.writeLock().lock();
+        try {
+            int[] previous = itemTerms.get(itemId);
+            if (previous != null && !replace) {
+                return;
+            }
+            int[] ids = new int[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                ids[i++] = termIds.computeIfAbsent(term, t -> {
+                    postings.add(new PostingList());
+                    return postings.size() - 1;
+                });
+            }
+            Arrays.sort(ids);
+            int[] nameIds = name.stream().mapToInt(termIds::get).sorted().toArray();
+            int[] old = previous != null ? previous : new int[0];
+            for (int termId : old) {
+                if (Arrays.binarySearch(ids, termId) < 0) {
+                    postings.get(termId).remove(itemId);
+                }
+            }
+            for (int termId : ids) {
+                if (Arrays.binarySearch(old, termId) < 0) {
+                    postings.get(termId).add(itemId);
+                }
+            }
+            itemTerms.put(itemId, ids);
+            nameTerms.put(itemId, nameIds);
+            available.set(itemId, Boolean.TRUE.equals(document.getAvailable()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Sorted set of item ids stored as variable-length encoded gaps.
+ * Appending an id greater than the last one is amortized O(1). Any other add or remove is buffered
+ * as a pending operation and merged into the encoded list in one pass once the buffer outgrows
+ * an eighth of the list, so re-indexing an item does not rewrite the lists of its terms every time.
+ * Readers never merge, they apply the pending operations to a decoded copy.
+ */
+class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int MIN_PENDING = 16;
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int size;
+    private int last = -1;
+    /**
+     * Pending operations in arrival order, an added id as is and a removed id as {@code ~id}.
+     */
+    private int[] pending = new int[0];
+    private int pendingCount;
+
+    void add(int id) {
+        if (pendingCount == 0 && id > last) {
+            append(id);
+            return;
+        }
+        addPending(id);
+    }
+
+    void remove(int id) {
+        if (pendingCount == 0 && id > last) {
+            return;
+        }
+        addPending(~id);
+    }
+
+    void orInto(BitSet target) {
+        if (pendingCount == 0) {
+            decode(target::set);
+            return;
+        }
+        for (int id : merged()) {
+            target.set(id);
+        }
+    }
+
+    int[] toArray() {
+        if (pendingCount == 0) {
+            return decoded();
+        }
+        return merged();
+    }
+
+    void trim() {
+        merge();
+        data = Arrays.copyOf(data, Math.max(length, 1));
+        pending = new int[0];
+    }
+
+    private void addPending(int operation) {
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, MIN_PENDING));
+        }
+        pending[pendingCount++] = operation;
+        if (pendingCount > Math.max(MIN_PENDING, size >>> 3)) {
+            merge();
+        }
+    }
+
+    private void merge() {
+        if (pendingCount == 0) {
+            return;
+        }
+        int[] ids = merged();
+        data = new byte[Math.max(ids.length * 2, INITIAL_CAPACITY)];
+        length = 0;
+        size = 0;
+        last = -1;
+        for (int id : ids) {
+            append(id);
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * The encoded ids with the pending operations applied, the last operation on an id wins.
+     */
+    private int[] merged() {
+        long[] operations = new long[pendingCount];
+        for (int i = 0; i < pendingCount; i++) {
+            int id = pending[i] >= 0 ? pending[i] : ~pending[i];
+            operations[i] = (long) id << 32 | i;
+        }
+        Arrays.sort(operations);
+        int[] ids = decoded();
+        int[] merged = new int[ids.length + pendingCount];
+        int count = 0;
+        int position = 0;
+        for (int i = 0; i < operations.length; i++) {
+            int id = (int) (operations[i] >>> 32);
+            if (i + 1 < operations.length && (int) (operations[i + 1] >>> 32) == id) {
+                continue;
+            }
+            while (position < ids.length && ids[position] < id) {
+                merged[count++] = ids[position++];
+            }
+            if (position < ids.length && ids[position] == id) {
+                position++;
+            }
+            if (pending[(int) operations[i]] >= 0) {
+                merged[count++] = id;
+            }
+        }
+        while (position < ids.length) {
+            merged[count++] = ids[position++];
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    private int[] decoded() {
+        int[] ids = new int[size];
+        int[] count = new int[1];
+        decode(id -> ids[count[0]++] = id);
+        return ids;
+    }
+
+    private void decode(IntConsumer consumer) {
+        int offset = 0;
+        int current = 0;
+        for (int i = 0; i < size; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            current += gap;
+            consumer.accept(current);
+        }
+    }
+
+    private void append(int id) {
+        int gap = last < 0 ? id : id - last;
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        while ((gap & ~0x7F) != 0) {
+            data[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        data[length++] = (byte) gap;
+        last = id;
+        size++;
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+
+/**
+ * Snowball Russian stemmer, the algorithm behind the {@code russian} text search configuration of PostgreSQL,
+ * so that engines matching in memory reduce words to the same stems as {@link FullTextItemSearchEngine}.
+ * Expects lower case words with {@code ё} already replaced by {@code е}, words without Russian vowels are kept as is.
+ */
+final class RussianStemmer {
+
+    private static final String VOWELS = "аеиоуыэюя";
+    private static final List<String> PERFECTIVE_GERUND_AFTER_A = List.of("в", "вши", "вшись");
+    private static final List<String> PERFECTIVE_GERUND = List.of("ив", "ивши", "ившись", "ыв", "ывши", "ывшись");
+    private static final List<String> ADJECTIVE = List.of("ее", "ие", "ые", "ое", "ими", "ыми", "ей", "ий", "ый", "ой",
+            "ем", "им", "ым", "ом", "его", "ого", "ему", "ому", "их", "ых", "ую", "юю", "ая", "яя", "ою", "ею");
+    private static final List<String> PARTICIPLE_AFTER_A = List.of("ем", "нн", "вш", "ющ", "щ");
+    private static final List<String> PARTICIPLE = List.of("ивш", "ывш", "ующ");
+    private static final List<String> REFLEXIVE = List.of("ся", "сь");
+    private static final List<String> VERB_AFTER_A = List.of("ла", "на", "ете", "йте", "ли", "й", "л", "ем", "н", "ло",
+            "но", "ет", "ют", "ны", "ть", "ешь", "нно");
+    private static final List<String> VERB = List.of("ила", "ыла", "ена", "ейте", "уйте", "ите", "или", "ыли", "ей", "уй",
+            "ил", "ыл", "им", "ым", "ен", "ило", "ыло", "ено", "ят", "ует", "уют", "ит", "ыт", "ены", "ить", "ыть", "ишь",
+            "ую", "ю");
+    private static final List<String> NOUN = List.of("а", "ев", "ов", "ие", "ье", "е", "иями", "ями", "ами", "еи", "ии",
+            "и", "ией", "ей", "ой", "ий", "й", "иям", "ям", "ием", "ем", "ам", "ом", "о", "у", "ах", "иях", "ях", "ы", "ь",
+            "ию", "ью", "ю", "ия", "ья", "я");
+    private static final List<String> DERIVATIONAL = List.of("ост", "ость");
+    private static final List<String> SUPERLATIVE = List.of("ейш", "ейше");
+
+    private RussianStemmer() {
+    }
+
+    static String stem(String word) {
+        int rv = regionAfterVowel(word, 0);
+        if (rv == word.length()) {
+            return word;
+        }
+        int r2 = regionAfterVowel(word, regionAfterConsonant(word, rv));
+        int end = word.length();
+
+        int gerund = endingAfterA(word, end, rv, PERFECTIVE_GERUND_AFTER_A, PERFECTIVE_GERUND);
+        if (gerund > 0) {
+            end -= gerund;
+        } else {
+            end -= longest(word, end, rv, REFLEXIVE);
+            int adjective = longest(word, end, rv, ADJECTIVE);
+            if (adjective > 0) {
+                end -= adjective;
+                end -= Math.max(endingAfterA(word, end, rv, PARTICIPLE_AFTER_A, PARTICIPLE), 0);
+            } else {
+                int verb = endingAfterA(word, end, rv, VERB_AFTER_A, VERB);
+                end -= verb > 0 ? verb : longest(word, end, rv, NOUN);
+            }
+        }
+
+        if (endsWith(word, end, rv, "и")) {
+            end--;
+        }
+        end -= longest(word, end, Math.max(r2, rv), DERIVATIONAL);
+
+        int superlative = longest(word, end, rv, SUPERLATIVE);
+        if (superlative > 0) {
+            end -= superlative;
+            if (endsWith(word, end, rv, "нн")) {
+                end--;
+            }
+        } else if (endsWith(word, end, rv, "нн")) {
+            end--;
+        } else if (endsWith(word, end, rv, "ь")) {
+            end--;
+        }
+        return word.substring(0, end);
+    }
+
+    /**
+     * Length of the longest ending of either list, an ending of the first list only counts after {@code а} or {@code я}.
+     * Zero if nothing matches, -1 if the longest match is of the first list and the letter before it is wrong.
+     */
+    private static int endingAfterA(String word, int end, int limit, List<String> afterA, List<String> anywhere) {
+        int first = longest(word, end, limit, afterA);
+        int second = longest(word, end, limit, anywhere);
+        if (second >= first) {
+            return second;
+        }
+        int before = end - first - 1;
+        return before >= limit && (word.charAt(before) == 'а' || word.charAt(before) == 'я') ? first : -1;
+    }
+
+    private static int longest(String word, int end, int limit, List<String> endings) {
+        int longest = 0;
+        for (String ending : endings) {
+            if (ending.length() > longest && endsWith(word, end, limit, ending)) {
+                longest = ending.length();
+            }
+        }
+        return longest;
+    }
+
+    private static boolean endsWith(String word, int end, int limit, String ending) {
+        int start = end - ending.length();
+        return start >= limit && word.startsWith(ending, start);
+    }
+
+    private static int regionAfterVowel(String word, int from) {
+        for (int i = from; i < word.length(); i++) {
+            if (isVowel(word.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return word.length();
+    }
+
+    private static int regionAfterConsonant(String word, int from) {
+        for (int i = from; i < word.length(); i++) {
+            if (!isVowel(word.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return word.length();
+    }
+
+    private static boolean isVowel(char c) {
+        return VOWELS.indexOf(c) >= 0;
+    }
+}
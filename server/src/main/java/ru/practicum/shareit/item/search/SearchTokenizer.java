@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class SearchTokenizer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public static List<String> tokenize(String text) {
+        String normalized = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        return Arrays.stream(SEPARATORS.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Tokens reduced to their stems, so that forms of one word match each other like they do in PostgreSQL.
+     */
+    public static List<String> terms(String text) {
+        return tokenize(text).stream()
+                .map(RussianStemmer::stem)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
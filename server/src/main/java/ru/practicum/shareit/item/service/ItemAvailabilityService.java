@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public interface ItemAvailabilityService {
+    ItemAvailabilityDto get(int itemId, LocalDateTime from, LocalDateTime to);
+
+    List<ItemAvailabilityDto> get(List<Integer> itemIds, LocalDateTime from, LocalDateTime to);
+}
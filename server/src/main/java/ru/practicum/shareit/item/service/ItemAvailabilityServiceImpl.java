@@ -0,0 +1,154 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.BookingPeriodDto;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemAvailabilityServiceImpl implements ItemAvailabilityService {
+
+    public static final String BOOKED_PERIODS_CACHE = "itemBookedPeriods";
+    private static final int MAX_BULK_SIZE = 500;
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CacheManager cacheManager;
+    /**
+     * Bumped for an item before its periods are evicted. A reader only caches what it loaded
+     * if the generation of the item did not move meanwhile, so periods read before a commit
+     * cannot land in the cache after that commit's eviction. Items share stripes, a collision
+     * only costs a skipped put.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Override
+    public ItemAvailabilityDto get(int itemId, LocalDateTime from, LocalDateTime to) {
+        checkPeriod(from, to);
+        if (itemRepository.findById(itemId).isEmpty()) {
+            throw new NotFoundException("Такой вещи нет в базе id=" + itemId);
+        }
+        return map(itemId, getBookedPeriods(List.of(itemId)).get(itemId), from, to);
+    }
+
+    @Override
+    public List<ItemAvailabilityDto> get(List<Integer> itemIds, LocalDateTime from, LocalDateTime to) {
+        checkPeriod(from, to);
+        Set<Integer> uniqueIds = new LinkedHashSet<>(itemIds);
+        if (uniqueIds.isEmpty() || uniqueIds.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("Количество вещей в запросе должно быть от 1 до " + MAX_BULK_SIZE);
+        }
+        Set<Integer> existingIds = itemRepository.findExistingIds(uniqueIds);
+        if (existingIds.size() != uniqueIds.size()) {
+            uniqueIds.removeAll(existingIds);
+            throw new NotFoundException("Таких вещей нет в базе id=" + uniqueIds);
+        }
+        Map<Integer, List<BookingPeriodDto>> periods = getBookedPeriods(uniqueIds);
+        return uniqueIds.stream()
+                .map(itemId -> map(itemId, periods.get(itemId), from, to))
+                .collect(Collectors.toList());
+    }
+
+    @TransactionalEventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        generations.incrementAndGet(stripe(event.getItemId()));
+        getCache().evict(event.getItemId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, List<BookingPeriodDto>> getBookedPeriods(Collection<Integer> itemIds) {
+        Cache cache = getCache();
+        Map<Integer, List<BookingPeriodDto>> periods = new HashMap<>();
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer itemId : itemIds) {
+            Cache.ValueWrapper cached = cache.get(itemId);
+            if (cached != null) {
+                periods.put(itemId, (List<BookingPeriodDto>) cached.get());
+            } else {
+                missingIds.add(itemId);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            long[] seenGenerations = missingIds.stream()
+                    .mapToLong(itemId -> generations.get(stripe(itemId)))
+                    .toArray();
+            Map<Integer, List<BookingPeriodDto>> loaded = bookingRepository.findPeriodsByItemIdInAndStatus(missingIds, BookingStatus.APPROVED)
+                    .stream()
+                    .collect(Collectors.groupingBy(BookingPeriodDto::getItemId));
+            for (int i = 0; i < missingIds.size(); i++) {
+                Integer itemId = missingIds.get(i);
+                List<BookingPeriodDto> itemPeriods = loaded.getOrDefault(itemId, Collections.emptyList());
+                putIfCurrent(cache, itemId, itemPeriods, seenGenerations[i]);
+                periods.put(itemId, itemPeriods);
+            }
+        }
+        return periods;
+    }
+
+    /**
+     * The second check covers an eviction that ran between the first check and the put.
+     */
+    private void putIfCurrent(Cache cache, Integer itemId, List<BookingPeriodDto> itemPeriods, long seenGeneration) {
+        if (generations.get(stripe(itemId)) != seenGeneration) {
+            return;
+        }
+        cache.put(itemId, itemPeriods);
+        if (generations.get(stripe(itemId)) != seenGeneration) {
+            cache.evict(itemId);
+        }
+    }
+
+    private static int stripe(int itemId) {
+        return Math.floorMod(itemId, GENERATION_STRIPES);
+    }
+
+    private Cache getCache() {
+        return Objects.requireNonNull(cacheManager.getCache(BOOKED_PERIODS_CACHE));
+    }
+
+    private static ItemAvailabilityDto map(int itemId, List<BookingPeriodDto> bookedPeriods, LocalDateTime from, LocalDateTime to) {
+        List<AvailabilityWindowDto> windows = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (BookingPeriodDto period : bookedPeriods) {
+            if (!period.getEnd().isAfter(freeFrom) || !period.getStart().isBefore(to)) {
+                continue;
+            }
+            if (period.getStart().isAfter(freeFrom)) {
+                windows.add(new AvailabilityWindowDto(freeFrom, period.getStart()));
+            }
+            freeFrom = period.getEnd();
+        }
+        if (freeFrom.isBefore(to)) {
+            windows.add(new AvailabilityWindowDto(freeFrom, to));
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .freeWindows(windows)
+                .build();
+    }
+
+    private static void checkPeriod(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Ошибочные параметры запроса");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemImportProgressDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface ItemImportService {
+
+    default ItemImportResultDto importItems(int ownerId, ItemImportFormat format, InputStream input) {
+        return importItems(ownerId, format, input, progress -> {
+        });
+    }
+
+    /**
+     * {@code onBatch} is called on the importing thread after every batch, saved or not.
+     */
+    ItemImportResultDto importItems(int ownerId, ItemImportFormat format, InputStream input,
+                                    Consumer<ItemImportProgressDto> onBatch);
+}
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportProgressDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.event.ItemsSavedEvent;
+import ru.practicum.shareit.item.imports.CsvItemRowParser;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.imports.ItemRowParser;
+import ru.practicum.shareit.item.imports.NdjsonItemRowParser;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.item.mapper.ItemMapper.map;
+
+/**
+ * Reads an import file line by line and saves valid rows in batches, every batch in its own transaction.
+ * Only the current batch is held in memory, the search index is updated once per committed batch.
+ * The counters after each batch are handed to the caller, who may stream them to the client.
+ */
+@Service
+@Slf4j
+public class ItemImportServiceImpl implements ItemImportService {
+
+    static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ItemImportServiceImpl(ItemRepository itemRepository,
+                                 UserRepository userRepository,
+                                 ItemRequestRepository itemRequestRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ItemImportResultDto importItems(int ownerId, ItemImportFormat format, InputStream input,
+                                           Consumer<ItemImportProgressDto> onBatch) {
+        User owner = userRepository.findById(ownerId).orElseThrow(() ->
+                new NotFoundException("Такого пользователя нет в базе id=" + ownerId));
+        ItemImportResultDto result = new ItemImportResultDto();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            ItemRowParser parser;
+            if (format == ItemImportFormat.CSV) {
+                parser = new CsvItemRowParser(reader.readLine());
+                lineNumber++;
+            } else {
+                parser = new NdjsonItemRowParser(objectMapper);
+            }
+            List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setProcessed(result.getProcessed() + 1);
+                try {
+                    ItemDto itemDto = parser.parse(line);
+                    itemDto.setId(null);
+                    validateItem(itemDto);
+                    batch.add(new ImportRow(lineNumber, itemDto));
+                } catch (BadRequestException e) {
+                    reject(result, lineNumber, e.getMessage());
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    saveBatch(owner, batch, result);
+                    batch.clear();
+                    onBatch.accept(progress(result));
+                }
+            }
+            if (!batch.isEmpty()) {
+                saveBatch(owner, batch, result);
+                onBatch.accept(progress(result));
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Не удалось прочитать файл импорта: " + e.getMessage());
+        }
+        log.info("Импорт вещей пользователя id={} завершен: обработано {}, сохранено {}, с ошибками {}",
+                ownerId, result.getProcessed(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void saveBatch(User owner, List<ImportRow> batch, ItemImportResultDto result) {
+        List<ImportRow> rejected = new ArrayList<>();
+        try {
+            List<Item> items = transactionTemplate.execute(status -> {
+                Set<Integer> requestIds = batch.stream()
+                        .map(row -> row.getItemDto().getRequestId())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                Map<Integer, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+                List<Item> batchItems = new ArrayList<>(batch.size());
+                for (ImportRow row : batch) {
+                    Integer requestId = row.getItemDto().getRequestId();
+                    if (requestId != null && !requests.containsKey(requestId)) {
+                        rejected.add(row);
+                        continue;
+                    }
+                    batchItems.add(map(row.getItemDto(), owner, requestId == null ? null : requests.get(requestId)));
+                }
+                List<Item> saved = itemRepository.saveAll(batchItems);
+                eventPublisher.publishEvent(new ItemsSavedEvent(saved));
+                return saved;
+            });
+            rejected.forEach(row -> reject(result, row.getLine(),
+                    "Такого запроса нет в базе id=" + row.getItemDto().getRequestId()));
+            result.setImported(result.getImported() + items.size());
+        } catch (DataAccessException e) {
+            log.warn("Пакет импорта строк {}-{} не сохранен", batch.get(0).getLine(), batch.get(batch.size() - 1).getLine(), e);
+            batch.forEach(row -> reject(result, row.getLine(), "Пакет не сохранен: " + e.getMostSpecificCause().getMessage()));
+        }
+        log.info("Импорт вещей пользователя id={}: обработано {}, сохранено {}, с ошибками {}",
+                owner.getId(), result.getProcessed(), result.getImported(), result.getFailed());
+    }
+
+    private static ItemImportProgressDto progress(ItemImportResultDto result) {
+        return new ItemImportProgressDto(result.getProcessed(), result.getImported(), result.getFailed());
+    }
+
+    private static void validateItem(ItemDto item) {
+        if (item.getName() == null || item.getName().isBlank()) {
+            throw new BadRequestException("Название вещи не может быть пустым.");
+        }
+        if (item.getDescription() == null) {
+            throw new BadRequestException("Описание вещи не может быть пустым.");
+        }
+        if (item.getAvailable() == null) {
+            throw new BadRequestException("Статус вещи не может быть пустым.");
+        }
+    }
+
+    private static void reject(ItemImportResultDto result, long line, String error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ItemImportErrorDto(line, error));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ImportRow {
+        private final long line;
+        private final ItemDto itemDto;
+    }
+}
@@ -2,9 +2,9 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,15 +16,18 @@ import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.item.event.ItemsSavedEvent;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Function;
@@ -45,7 +48,9 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
-    private LocalDateTime moment;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
     //------------------------------------------------ITEM METHODS------------------------------------------------------
 
@@ -58,19 +63,20 @@ public class ItemServiceImpl implements ItemService {
                 ? null
                 : itemRequestRepository.findById(requestId).orElseThrow(() ->
                 new NotFoundException("Такого запроса нет в базе id=" + requestId));
-        Item item = map(itemDto, owner, itemRequest);
-        return itemRepository.save(item);
+        Item item = itemRepository.save(map(itemDto, owner, itemRequest));
+        eventPublisher.publishEvent(new ItemsSavedEvent(List.of(item)));
+        return item;
     }
 
     @Override
     public ItemDtoWithBookingsAndComments get(int itemId, int viewerId) {
-        moment = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now(clock);
         checkUser(viewerId);
         Item dbItem = this.get(itemId);
         List<Comment> comments = commentRepository.findByItemIdOrderByCreatedDesc(itemId);
         ItemDtoWithBookingsAndComments itemDto = map(dbItem, map(comments));
         if (viewerId == dbItem.getOwner().getId()) {
-            setItemDtoLastAndNextBooking(itemDto, moment);
+            setItemDtoLastAndNextBooking(List.of(itemDto), now);
         }
         return itemDto;
     }
@@ -84,7 +90,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemDtoWithBookingsAndComments> getViewerItems(int viewerId, Integer from, Integer size) {
         checkUser(viewerId);
-        moment = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now(clock);
         List<Item> itemList;
         if (from != null && size != null) {
             Pageable page = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
@@ -100,14 +106,12 @@ public class ItemServiceImpl implements ItemService {
         Map<Integer, List<Comment>> commentMap = commentRepository.findByItemIdIn(itemMap.keySet())
                 .stream()
                 .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
-        return itemMap.values()
+        List<ItemDtoWithBookingsAndComments> itemDtoList = itemMap.values()
                 .stream()
-                .map(dbItem -> {
-                    ItemDtoWithBookingsAndComments itemDto = map(dbItem, map(commentMap.getOrDefault(dbItem.getId(), Collections.emptyList())));
-                    setItemDtoLastAndNextBooking(itemDto, moment);
-                    return itemDto;
-                })
+                .map(dbItem -> map(dbItem, map(commentMap.getOrDefault(dbItem.getId(), Collections.emptyList()))))
                 .collect(Collectors.toList());
+        setItemDtoLastAndNextBooking(itemDtoList, now);
+        return itemDtoList;
     }
 
     @Override
@@ -116,13 +120,10 @@ public class ItemServiceImpl implements ItemService {
         if (word.isBlank()) {
             return new ArrayList<>();
         }
-        word = word.toLowerCase();
-        if (from != null && size != null) {
-            Pageable page = PageRequest.of(from, size, Sort.unsorted());
-            return itemRepository.findAvailableItemsByWord(word, page);
-        } else {
-            return itemRepository.findAvailableItemsByWord(word);
-        }
+        Pageable page = from != null && size != null
+                ? PageRequest.of(from, size)
+                : Pageable.unpaged();
+        return itemSearchEngine.search(word, page);
     }
 
     @Transactional
@@ -136,18 +137,21 @@ public class ItemServiceImpl implements ItemService {
                     " не является владельцем вещи с id=" + changedItem.getId());
         }
         dbItem.update(changedItem);
-        return itemRepository.save(dbItem);
+        Item item = itemRepository.save(dbItem);
+        eventPublisher.publishEvent(new ItemsSavedEvent(List.of(item)));
+        return item;
     }
 
-    private void setItemDtoLastAndNextBooking(ItemDtoWithBookingsAndComments itemDto, LocalDateTime now) {
-        Pageable page = PageRequest.of(0, 1);
-        Slice<Booking> last = bookingRepository.findPrevByItemIdAndStatus(itemDto.getId(), BookingStatus.APPROVED, now, page);
-        Slice<Booking> next = bookingRepository.findNextByItemIdAndStatus(itemDto.getId(), BookingStatus.APPROVED, now, page);
-        if (last.hasContent()) {
-            itemDto.setLastBooking(mapToItemField(last.getContent().get(0)));
-        }
-        if (next.hasContent()) {
-            itemDto.setNextBooking(mapToItemField(next.getContent().get(0)));
+    private void setItemDtoLastAndNextBooking(List<ItemDtoWithBookingsAndComments> itemDtoList, LocalDateTime now) {
+        Map<Integer, ItemDtoWithBookingsAndComments> itemDtoMap = itemDtoList.stream()
+                .collect(Collectors.toMap(ItemDtoWithBookingsAndComments::getId, Function.identity()));
+        for (Booking booking : bookingRepository.findLastAndNextByItemIdInAndStatus(itemDtoMap.keySet(), BookingStatus.APPROVED, now)) {
+            ItemDtoWithBookingsAndComments itemDto = itemDtoMap.get(booking.getItem().getId());
+            if (booking.getStartDate().isBefore(now)) {
+                itemDto.setLastBooking(mapToItemField(booking));
+            } else {
+                itemDto.setNextBooking(mapToItemField(booking));
+            }
         }
     }
 
@@ -156,14 +160,14 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     @Override
     public Comment add(CommentDto commentDto, int commentatorId, int itemId) {
-        moment = LocalDateTime.now();
-        commentDto.setCreated(moment);
+        LocalDateTime now = LocalDateTime.now(clock);
+        commentDto.setCreated(now);
         User commentator = getUser(commentatorId);
         Item item = this.get(itemId);
         List<Booking> itemBookings = bookingRepository.findByItemIdAndStatus(itemId, BookingStatus.APPROVED);
         boolean isOkay = itemBookings.stream().anyMatch(
                 booking -> booking.getBooker().getId() == commentatorId
-                        && booking.getEndDate().isBefore(moment)
+                        && booking.getEndDate().isBefore(now)
                         && booking.getStatus().equals(BookingStatus.APPROVED));
         if (!isOkay) {
             throw new BadRequestException("Запрос не прошел проверки");
@@ -173,7 +177,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private void checkUser(int userId) {
-        if (!userRepository.existsById(userId)) {
+        if (userRepository.findById(userId).isEmpty()) {
             throw new NotFoundException("Такого пользователя нет в базе id=" + userId);
         }
     }
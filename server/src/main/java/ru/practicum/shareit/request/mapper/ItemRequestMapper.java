@@ -8,8 +8,8 @@ import java.time.LocalDateTime;
 
 public class ItemRequestMapper {
 
-    public static ItemRequest map(ItemRequestDto itemRequestDto, User requester) {
-        return new ItemRequest(null, itemRequestDto.getDescription(), requester, LocalDateTime.now());
+    public static ItemRequest map(ItemRequestDto itemRequestDto, User requester, LocalDateTime created) {
+        return new ItemRequest(null, itemRequestDto.getDescription(), requester, created);
     }
 
     public static ItemRequestDto map(ItemRequest itemRequest) {
@@ -17,6 +17,8 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -34,13 +36,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final Clock clock;
 
     @Transactional
     @Override
     public ItemRequest add(int requesterId, ItemRequestDto itemRequestDto) {
         User requester = userRepository.findById(requesterId).orElseThrow(() ->
                 new NotFoundException("Такого пользователя нет в базе id=" + requesterId));
-        ItemRequest itemRequest = map(itemRequestDto, requester);
+        ItemRequest itemRequest = map(itemRequestDto, requester, LocalDateTime.now(clock));
         return itemRequestRepository.save(itemRequest);
     }
 
@@ -93,7 +96,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private void checkUser(int userId) {
-        if (!userRepository.existsById(userId)) {
+        if (userRepository.findById(userId).isEmpty()) {
             throw new NotFoundException("Такого пользователя нет в базе id=" + userId);
         }
     }
@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS bookings_booker_id_end_date_idx ON bookings (booker_id, end_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_status_end_date_idx ON bookings (booker_id, status, end_date DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_start_date_idx ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_id_idx ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS comments_item_id_created_idx ON comments (item_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS requests_requester_id_created_idx ON requests (requester_id, created DESC);
@@ -0,0 +1,143 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.diagnostics.SqlAssertions.assertStatementsAtMost;
+import static ru.practicum.shareit.common.Header.X_SHARER_USER_ID;
+
+/**
+ * Pins the number of JDBC statements behind every list endpoint with Hibernate statistics.
+ * Each endpoint is called for a viewer with one row and for a viewer with many rows,
+ * the counts have to be equal (no per-row fetches) and stay under the endpoint's budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointStatementCountTest {
+
+    private static final int MANY = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private Statistics statistics;
+    private User few;
+    private User many;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        few = userRepository.save(new User(null, "few", "statements-few@mail.ru"));
+        many = userRepository.save(new User(null, "many", "statements-many@mail.ru"));
+        seed(few, many, 1);
+        seed(many, few, MANY);
+    }
+
+    @Test
+    void getViewerItems() throws Exception {
+        assertStatements(3, "/items");
+    }
+
+    @Test
+    void getViewerItemsIssuesAtMostThreeStatements() throws Exception {
+        mockMvc.perform(get("/items").header(X_SHARER_USER_ID, many.getId()));
+
+        assertStatementsAtMost(3, () -> mockMvc.perform(get("/items").header(X_SHARER_USER_ID, many.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getViewerItemsPage() throws Exception {
+        assertStatements(3, "/items?from=0&size=50");
+    }
+
+    @Test
+    void getUserBookings() throws Exception {
+        assertStatements(1, "/bookings?state=ALL");
+        assertStatements(1, "/bookings?state=PAST&from=0&size=50");
+    }
+
+    @Test
+    void getBookingsOfUserItems() throws Exception {
+        assertStatements(1, "/bookings/owner?state=ALL");
+        assertStatements(1, "/bookings/owner?state=WAITING&from=0&size=50");
+    }
+
+    @Test
+    void getUserRequests() throws Exception {
+        assertStatements(2, "/requests");
+    }
+
+    @Test
+    void getOtherUsersRequests() throws Exception {
+        assertStatements(2, "/requests/all?from=0&size=50");
+    }
+
+    /**
+     * The owner of the items books the items of the other user, so both viewers have bookings,
+     * items, requests and comments; the user and item caches are warmed by the first call.
+     */
+    private void seed(User owner, User booker, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "нужна дрель", owner, now.minusDays(30)));
+            Item item = itemRepository.save(new Item(null, "дрель", "аккумуляторная дрель", true, owner, request));
+            bookingRepository.save(new Booking(null, now.minusDays(10), now.minusDays(9), item, booker, BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4), item, booker, BookingStatus.WAITING));
+            commentRepository.save(new Comment(null, "отличная дрель", item, booker, now.minusDays(8)));
+        }
+    }
+
+    private void assertStatements(long budget, String url) throws Exception {
+        long forFew = statements(few, url);
+        long forMany = statements(many, url);
+        assertEquals(forFew, forMany, url + " выполняет запросы на каждую строку");
+        assertTrue(forMany <= budget, url + " выполняет " + forMany + " запросов, ожидалось не больше " + budget);
+    }
+
+    private long statements(User viewer, String url) throws Exception {
+        mockMvc.perform(get(url).header(X_SHARER_USER_ID, viewer.getId())).andExpect(status().isOk());
+        statistics.clear();
+        mockMvc.perform(get(url).header(X_SHARER_USER_ID, viewer.getId())).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.common.Header.X_SHARER_USER_ID;
+
+/**
+ * The item inside a booking keeps the shape of the item entity: the request is nested with its requester,
+ * the owner is left out.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingJsonTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = userRepository.save(new User(null, "owner", "json-owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "json-booker@mail.ru"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "нужна дрель", booker, now.minusDays(30)));
+        item = itemRepository.save(new Item(null, "дрель", "аккумуляторная дрель", true, owner, request));
+        booking = bookingRepository.save(new Booking(null, now.minusDays(10), now.minusDays(9), item, booker,
+                BookingStatus.APPROVED));
+    }
+
+    @Test
+    void bookingShowsItemWithRequest() throws Exception {
+        mockMvc.perform(get("/bookings/" + booking.getId()).header(X_SHARER_USER_ID, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.id").value(item.getId()))
+                .andExpect(jsonPath("$.item.available").value(true))
+                .andExpect(jsonPath("$.item.owner").doesNotExist())
+                .andExpect(jsonPath("$.item.requestId").doesNotExist())
+                .andExpect(jsonPath("$.item.request.description").value("нужна дрель"))
+                .andExpect(jsonPath("$.item.request.requester.email").value(booker.getEmail()))
+                .andExpect(jsonPath("$.booker.email").value(booker.getEmail()));
+    }
+
+    @Test
+    void bookingListShowsItemWithRequest() throws Exception {
+        mockMvc.perform(get("/bookings/owner?state=ALL").header(X_SHARER_USER_ID, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.id").value(item.getId()))
+                .andExpect(jsonPath("$[0].item.request.description").value("нужна дрель"))
+                .andExpect(jsonPath("$[0].item.request.requester.id").value(booker.getId()));
+    }
+
+    @Test
+    void lastBookingShowsItem() throws Exception {
+        mockMvc.perform(get("/items/" + item.getId()).header(X_SHARER_USER_ID, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastBooking.bookerId").value(booker.getId()))
+                .andExpect(jsonPath("$.lastBooking.itemId").doesNotExist())
+                .andExpect(jsonPath("$.lastBooking.item.name").value("дрель"))
+                .andExpect(jsonPath("$.lastBooking.item.request.requester.name").value("booker"))
+                .andExpect(jsonPath("$.nextBooking").value(nullValue()));
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingPeriodDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingServiceImplTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2031, 3, 3, 12, 0);
+    private static final int BOOKER_ID = 2;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final BookingServiceImpl service = new BookingServiceImpl(bookingRepository, itemRepository, userRepository,
+            mock(ApplicationEventPublisher.class), Clock.systemDefaultZone(), mock(PlatformTransactionManager.class));
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User(1, "owner", "owner@mail.ru");
+        item = new Item(10, "дрель", "аккумуляторная дрель", true, owner, null);
+        when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(new User(BOOKER_ID, "booker", "booker@mail.ru")));
+        when(itemRepository.findAllById(anyIterable())).thenReturn(List.of(item));
+    }
+
+    @Test
+    void batchConflictingWithConcurrentBookingIsResolvedPerElement() {
+        when(bookingRepository.findPeriodsByItemIdInAndStatusIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new BookingPeriodDto(item.getId(), MONDAY, MONDAY.plusDays(1))));
+        doThrow(overlap()).doNothing().when(bookingRepository).flush();
+
+        List<BookingBatchResultDto> results = service.addAll(BOOKER_ID, List.of(
+                new BookingDtoIn(item.getId(), MONDAY, MONDAY.plusDays(2)),
+                new BookingDtoIn(item.getId(), MONDAY.plusDays(3), MONDAY.plusDays(4))));
+
+        assertEquals(400, results.get(0).getStatus());
+        assertEquals(200, results.get(1).getStatus());
+        verify(bookingRepository, times(2)).flush();
+    }
+
+    @Test
+    void otherIntegrityViolationsAreNotTakenForOverlaps() {
+        when(bookingRepository.findPeriodsByItemIdInAndStatusIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("null value",
+                new SQLException("null value in column \"end_date\"", "23502"));
+        doThrow(notNull).when(bookingRepository).flush();
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class, () ->
+                service.addAll(BOOKER_ID, List.of(new BookingDtoIn(item.getId(), MONDAY, MONDAY.plusDays(1)))));
+
+        assertSame(notNull, thrown);
+        verify(bookingRepository, times(1)).flush();
+    }
+
+    @Test
+    void singleBookingOverlapIsBadRequest() {
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(overlap());
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        assertThrows(BadRequestException.class, () ->
+                service.add(BOOKER_ID, new BookingDtoIn(item.getId(), MONDAY, MONDAY.plusDays(1))));
+    }
+
+    @Test
+    void reapprovingIntoOverlapIsBadRequest() {
+        User owner = item.getOwner();
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Booking rejected = new Booking(5, MONDAY, MONDAY.plusDays(1), item,
+                new User(BOOKER_ID, "booker", "booker@mail.ru"), BookingStatus.REJECTED);
+        when(bookingRepository.findById(rejected.getId())).thenReturn(Optional.of(rejected));
+        when(bookingRepository.existsByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(
+                eq(item.getId()), anyCollection(), eq(MONDAY.plusDays(1)), eq(MONDAY))).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> service.update(owner.getId(), true, rejected.getId()));
+
+        assertEquals(BookingStatus.REJECTED, rejected.getStatus());
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    private static DataIntegrityViolationException overlap() {
+        return new DataIntegrityViolationException("could not execute batch", new SQLException(
+                "conflicting key value violates exclusion constraint \"bookings_item_period_excl\"", "23P01"));
+    }
+}
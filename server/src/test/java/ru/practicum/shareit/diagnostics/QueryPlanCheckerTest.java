@@ -0,0 +1,36 @@
+package ru.practicum.shareit.diagnostics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryPlanCheckerTest {
+
+    private QueryPlanChecker checker;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:plans;DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE IF NOT EXISTS things (id INT PRIMARY KEY, "
+                + "owner_id INT, name VARCHAR(100)); CREATE INDEX IF NOT EXISTS things_owner_idx ON things (owner_id)");
+        checker = new QueryPlanChecker(dataSource, Runnable::run);
+        jdbcTemplate = new JdbcTemplate(ProxyDataSourceBuilder.create(dataSource).listener(checker).build());
+    }
+
+    @Test
+    void explainsExecutedStatementsWithTheirParameters() {
+        jdbcTemplate.queryForList("select id from things where owner_id = ?", Integer.class, 1);
+        assertEquals(0, checker.getSequentialScans());
+
+        jdbcTemplate.queryForList("select id from things where name = ?", Integer.class, "дрель");
+        jdbcTemplate.queryForList("select id from things where name = ?", Integer.class, "пила");
+        assertEquals(1, checker.getSequentialScans());
+    }
+}
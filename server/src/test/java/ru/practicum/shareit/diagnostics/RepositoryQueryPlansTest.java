@@ -0,0 +1,36 @@
+package ru.practicum.shareit.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * H2 keeps outer joins in the written order and reports scans PostgreSQL would not do,
+ * so only the coverage of the startup check is asserted here, not the plans.
+ */
+@SpringBootTest(properties = "shareit.diagnostics.query-plan-check=true")
+class RepositoryQueryPlansTest {
+
+    private static final int REPOSITORY_QUERIES = 30;
+
+    @Autowired
+    private RepositoryQueryPlans repositoryQueryPlans;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repositoryQueriesAreExplainedAtStartup() {
+        assertTrue(repositoryQueryPlans.getExplained() >= REPOSITORY_QUERIES,
+                "объяснено запросов: " + repositoryQueryPlans.getExplained());
+    }
+
+    @Test
+    void seededDatasetIsRolledBack() {
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE 'query-plans-%'", Integer.class));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.diagnostics;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.common.Header.X_SHARER_USER_ID;
+
+@SpringBootTest(properties = {
+        "shareit.diagnostics.sql.action=fail",
+        "shareit.diagnostics.sql.max-statements=1"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlThresholdFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+
+    @BeforeAll
+    void seed() {
+        owner = userRepository.save(new User(null, "owner", "threshold-owner@mail.ru"));
+        itemRepository.save(new Item(null, "дрель", "аккумуляторная дрель", true, owner, null));
+    }
+
+    @Test
+    void requestOverThresholdIsReplacedWithServerError() throws Exception {
+        mockMvc.perform(get("/items").header(X_SHARER_USER_ID, owner.getId()))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error", containsString("GET /items")))
+                .andExpect(content().string(not(containsString("дрель"))));
+    }
+
+    @Test
+    void requestWithinThresholdIsPassedThrough() throws Exception {
+        mockMvc.perform(get("/bookings").header(X_SHARER_USER_ID, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.imports;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvItemRowParserTest {
+
+    private final CsvItemRowParser parser = new CsvItemRowParser("name,description,available,requestId");
+
+    @Test
+    void columnsAreFoundByHeaderInAnyOrderAndCase() {
+        CsvItemRowParser reordered = new CsvItemRowParser("﻿Available, NAME ,description");
+
+        ItemDto item = reordered.parse("false,дрель,аккумуляторная дрель");
+
+        assertEquals("дрель", item.getName());
+        assertEquals("аккумуляторная дрель", item.getDescription());
+        assertEquals(false, item.getAvailable());
+        assertNull(item.getRequestId());
+    }
+
+    @Test
+    void quotedFieldsKeepSeparatorsAndDoubledQuotes() {
+        ItemDto item = parser.parse("\"дрель, ударная\",\"сверлит \"\"быстро\"\"\",TRUE,7");
+
+        assertEquals("дрель, ударная", item.getName());
+        assertEquals("сверлит \"быстро\"", item.getDescription());
+        assertEquals(true, item.getAvailable());
+        assertEquals(7, item.getRequestId());
+    }
+
+    @Test
+    void emptyQuotedFieldIsEmpty() {
+        assertEquals("", parser.parse("дрель,\"\",true,").getDescription());
+    }
+
+    @Test
+    void missingTrailingFieldsAreNull() {
+        ItemDto item = parser.parse("дрель");
+
+        assertEquals("дрель", item.getName());
+        assertNull(item.getDescription());
+        assertNull(item.getAvailable());
+        assertNull(item.getRequestId());
+    }
+
+    @Test
+    void unclosedQuoteIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> parser.parse("\"дрель,аккумуляторная дрель,true,"));
+    }
+
+    @Test
+    void malformedAvailableIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> parser.parse("дрель,аккумуляторная дрель,yes,"));
+    }
+
+    @Test
+    void malformedRequestIdIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> parser.parse("дрель,аккумуляторная дрель,true,seven"));
+    }
+
+    @Test
+    void headerWithoutRequiredColumnsIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> new CsvItemRowParser("name,available"));
+    }
+
+    @Test
+    void missingHeaderIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> new CsvItemRowParser(null));
+    }
+}
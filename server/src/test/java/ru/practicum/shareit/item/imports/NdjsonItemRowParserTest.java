@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.imports;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NdjsonItemRowParserTest {
+
+    private final NdjsonItemRowParser parser = new NdjsonItemRowParser(
+            new ObjectMapper().registerModule(new ParameterNamesModule(JsonCreator.Mode.DEFAULT)));
+
+    @Test
+    void lineIsReadAsItem() {
+        ItemDto item = parser.parse("{\"name\":\"дрель, ударная\",\"description\":\"сверлит \\\"быстро\\\"\","
+                + "\"available\":true,\"requestId\":7}");
+
+        assertEquals("дрель, ударная", item.getName());
+        assertEquals("сверлит \"быстро\"", item.getDescription());
+        assertEquals(true, item.getAvailable());
+        assertEquals(7, item.getRequestId());
+    }
+
+    @Test
+    void missingFieldsAreNull() {
+        ItemDto item = parser.parse("{\"name\":\"дрель\"}");
+
+        assertNull(item.getDescription());
+        assertNull(item.getAvailable());
+    }
+
+    @Test
+    void malformedJsonIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> parser.parse("{\"name\":\"дрель\","));
+    }
+
+    @Test
+    void wrongFieldTypeIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> parser.parse("{\"name\":\"дрель\",\"available\":\"maybe\"}"));
+    }
+}
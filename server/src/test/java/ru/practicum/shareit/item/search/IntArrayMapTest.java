@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IntArrayMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomUpdates() {
+        SplittableRandom random = new SplittableRandom(42);
+        IntArrayMap map = new IntArrayMap();
+        Map<Integer, int[]> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(10_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                int[] value = {i};
+                map.put(key, value);
+                expected.put(key, value);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 10_000; key++) {
+            if (expected.containsKey(key)) {
+                assertArrayEquals(expected.get(key), map.get(key));
+            } else {
+                assertNull(map.get(key));
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InvertedItemIndexTest {
+
+    private final InvertedItemIndex index = new InvertedItemIndex();
+
+    @Test
+    void findsAvailableItemsByTermPrefixes() {
+        index.index(new ItemSearchDocument(1, "Дрель", "аккумуляторная дрель", true));
+        index.index(new ItemSearchDocument(2, "Дрель ударная", "сетевая", true));
+        index.index(new ItemSearchDocument(3, "Дрель", "сломана", false));
+
+        assertArrayEquals(new int[]{1, 2}, index.search(SearchTokenizer.terms("дрел")));
+        assertArrayEquals(new int[]{2}, index.search(SearchTokenizer.terms("дрель удар")));
+    }
+
+    @Test
+    void reindexingReplacesTerms() {
+        index.index(new ItemSearchDocument(1, "Дрель", "аккумуляторная", true));
+        index.index(new ItemSearchDocument(1, "Пила", "аккумуляторная", true));
+
+        assertArrayEquals(new int[0], index.search(SearchTokenizer.terms("дрель")));
+        assertArrayEquals(new int[]{1}, index.search(SearchTokenizer.terms("пила")));
+        assertArrayEquals(new int[]{1}, index.search(SearchTokenizer.terms("аккумуляторная")));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void loadDoesNotOverwriteNewerVersion() {
+        index.index(new ItemSearchDocument(1, "Пила", "новое название", true));
+        index.indexIfAbsent(new ItemSearchDocument(1, "Дрель", "старое название", true));
+        index.indexIfAbsent(new ItemSearchDocument(2, "Дрель", "другая вещь", true));
+
+        assertArrayEquals(new int[]{1}, index.search(SearchTokenizer.terms("пила")));
+        assertArrayEquals(new int[]{2}, index.search(SearchTokenizer.terms("дрель")));
+    }
+
+    @Test
+    void matchesAreRankedByMatchedTermsWithNameCountingTwice() {
+        index.index(new ItemSearchDocument(1, "Пила", "для дрели", true));
+        index.index(new ItemSearchDocument(2, "Дрель", "ударная", true));
+        index.index(new ItemSearchDocument(3, "Дрель", "ударная дрель-шуруповерт", true));
+        index.index(new ItemSearchDocument(4, "Дрель ударная", "сетевая", true));
+
+        assertArrayEquals(new int[]{2, 3, 4, 1}, index.search(SearchTokenizer.terms("дрель")));
+        assertArrayEquals(new int[]{4, 2, 3}, index.search(SearchTokenizer.terms("дрель удар")));
+    }
+}
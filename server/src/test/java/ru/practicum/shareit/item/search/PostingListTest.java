@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PostingListTest {
+
+    @Test
+    void appendsAscendingIds() {
+        PostingList list = new PostingList();
+        list.add(3);
+        list.add(200);
+        list.add(70_000);
+
+        assertArrayEquals(new int[]{3, 200, 70_000}, list.toArray());
+    }
+
+    @Test
+    void lastOperationOnAnIdWins() {
+        PostingList list = new PostingList();
+        list.add(5);
+        list.add(9);
+        list.remove(5);
+        list.add(5);
+        list.remove(9);
+        list.add(1);
+
+        assertArrayEquals(new int[]{1, 5}, list.toArray());
+    }
+
+    @Test
+    void matchesSortedSetUnderRandomUpdates() {
+        SplittableRandom random = new SplittableRandom(42);
+        PostingList list = new PostingList();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                list.remove(id);
+                expected.remove(id);
+            } else {
+                list.add(id);
+                expected.add(id);
+            }
+            if (i % 997 == 0) {
+                assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), list.toArray());
+            }
+        }
+        BitSet bits = new BitSet();
+        list.orInto(bits);
+        assertEquals(expected.size(), bits.cardinality());
+        list.trim();
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), list.toArray());
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RussianStemmerTest {
+
+    @Test
+    void reducesWordFormsToSnowballStems() {
+        assertEquals("дрел", RussianStemmer.stem("дрель"));
+        assertEquals("дрел", RussianStemmer.stem("дрели"));
+        assertEquals("аккумуляторн", RussianStemmer.stem("аккумуляторная"));
+        assertEquals("аккумуляторн", RussianStemmer.stem("аккумуляторные"));
+        assertEquals("велосипед", RussianStemmer.stem("велосипедов"));
+        assertEquals("туристическ", RussianStemmer.stem("туристическая"));
+        assertEquals("молотк", RussianStemmer.stem("молотком"));
+        assertEquals("слома", RussianStemmer.stem("сломанная"));
+        assertEquals("прочита", RussianStemmer.stem("прочитавшись"));
+    }
+
+    @Test
+    void keepsWordsWithoutRussianVowels() {
+        assertEquals("bosch", RussianStemmer.stem("bosch"));
+        assertEquals("18v", RussianStemmer.stem("18v"));
+    }
+}
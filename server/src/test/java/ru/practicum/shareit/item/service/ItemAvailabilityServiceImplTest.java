@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import ru.practicum.shareit.booking.dto.BookingPeriodDto;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.item.service.ItemAvailabilityServiceImpl.BOOKED_PERIODS_CACHE;
+
+class ItemAvailabilityServiceImplTest {
+
+    private static final int ITEM_ID = 7;
+    private static final LocalDateTime NOW = LocalDateTime.of(2031, 3, 3, 12, 0);
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(BOOKED_PERIODS_CACHE);
+    private final ItemAvailabilityServiceImpl service =
+            new ItemAvailabilityServiceImpl(itemRepository, bookingRepository, cacheManager);
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(new Item()));
+    }
+
+    @Test
+    void loadedPeriodsAreCached() {
+        when(bookingRepository.findPeriodsByItemIdInAndStatus(anyCollection(), eq(BookingStatus.APPROVED)))
+                .thenReturn(List.of(new BookingPeriodDto(ITEM_ID, NOW, NOW.plusDays(1))));
+
+        service.get(ITEM_ID, NOW.minusDays(1), NOW.plusDays(2));
+
+        assertNotNull(cacheManager.getCache(BOOKED_PERIODS_CACHE).get(ITEM_ID));
+    }
+
+    @Test
+    void periodsLoadedBeforeCommitAreNotCachedAfterItsEviction() {
+        when(bookingRepository.findPeriodsByItemIdInAndStatus(anyCollection(), eq(BookingStatus.APPROVED)))
+                .thenAnswer(invocation -> {
+                    service.onBookingStatusChanged(new BookingStatusChangedEvent(ITEM_ID));
+                    return List.of();
+                });
+
+        service.get(ITEM_ID, NOW.minusDays(1), NOW.plusDays(2));
+
+        assertNull(cacheManager.getCache(BOOKED_PERIODS_CACHE).get(ITEM_ID));
+    }
+
+    @Test
+    void itemWithoutBookingsIsFreeForTheWholePeriod() {
+        assertEquals(List.of(window(0, 10)), freeWindows(0, 10));
+    }
+
+    @Test
+    void adjacentBookingsLeaveNoWindowBetweenThem() {
+        assertEquals(List.of(window(0, 2), window(6, 10)),
+                freeWindows(0, 10, period(2, 4), period(4, 6)));
+    }
+
+    @Test
+    void overlappingBookingsAreMerged() {
+        assertEquals(List.of(window(0, 1), window(7, 10)),
+                freeWindows(0, 10, period(1, 5), period(2, 3), period(4, 7)));
+    }
+
+    @Test
+    void bookingsPartlyCoveringThePeriodAreClipped() {
+        assertEquals(List.of(window(2, 8)),
+                freeWindows(0, 10, period(-3, 2), period(8, 12)));
+    }
+
+    @Test
+    void bookingsOutsideThePeriodAreIgnored() {
+        assertEquals(List.of(window(0, 10)),
+                freeWindows(0, 10, period(-5, 0), period(10, 12)));
+    }
+
+    @Test
+    void periodEndingWithABookingHasNoWindowAfterIt() {
+        assertEquals(List.of(window(0, 6)),
+                freeWindows(0, 10, period(6, 10)));
+    }
+
+    @Test
+    void fullyBookedPeriodHasNoWindows() {
+        assertEquals(List.of(), freeWindows(2, 4, period(0, 10)));
+    }
+
+    /**
+     * Periods in hours from {@code NOW}, ordered by start like the repository returns them.
+     */
+    private List<AvailabilityWindowDto> freeWindows(int from, int to, BookingPeriodDto... periods) {
+        when(bookingRepository.findPeriodsByItemIdInAndStatus(anyCollection(), eq(BookingStatus.APPROVED)))
+                .thenReturn(List.of(periods));
+        return service.get(ITEM_ID, NOW.plusHours(from), NOW.plusHours(to)).getFreeWindows();
+    }
+
+    private static BookingPeriodDto period(int start, int end) {
+        return new BookingPeriodDto(ITEM_ID, NOW.plusHours(start), NOW.plusHours(end));
+    }
+
+    private static AvailabilityWindowDto window(int start, int end) {
+        return new AvailabilityWindowDto(NOW.plusHours(start), NOW.plusHours(end));
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportProgressDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.item.service.ItemImportServiceImpl.BATCH_SIZE;
+
+class ItemImportServiceImplTest {
+
+    private static final int OWNER_ID = 1;
+    private static final int REQUEST_ID = 3;
+    private static final String NDJSON_ROW = "{\"name\":\"дрель\",\"description\":\"аккумуляторная дрель\",\"available\":true}";
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ItemRequestRepository itemRequestRepository = mock(ItemRequestRepository.class);
+    private final ItemImportServiceImpl service = new ItemImportServiceImpl(itemRepository, userRepository,
+            itemRequestRepository, mock(ApplicationEventPublisher.class),
+            new ObjectMapper().registerModule(new ParameterNamesModule(JsonCreator.Mode.DEFAULT)),
+            mock(PlatformTransactionManager.class));
+    private final List<ItemImportProgressDto> progress = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User(OWNER_ID, "owner", "owner@mail.ru");
+        when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findAllById(anyIterable())).thenReturn(List.of(
+                new ItemRequest(REQUEST_ID, "нужна дрель", owner, LocalDateTime.of(2031, 3, 3, 12, 0))));
+        when(itemRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void rowsAreSavedInBatchesWithProgressAfterEach() {
+        ItemImportResultDto result = importNdjson(ndjsonRows(2 * BATCH_SIZE + 1));
+
+        assertEquals(List.of(BATCH_SIZE, BATCH_SIZE, 1), savedBatchSizes(3));
+        assertEquals(List.of(
+                new ItemImportProgressDto(BATCH_SIZE, BATCH_SIZE, 0),
+                new ItemImportProgressDto(2 * BATCH_SIZE, 2 * BATCH_SIZE, 0),
+                new ItemImportProgressDto(2 * BATCH_SIZE + 1, 2 * BATCH_SIZE + 1, 0)), progress);
+        assertEquals(2 * BATCH_SIZE + 1, result.getImported());
+    }
+
+    @Test
+    void fullLastBatchIsNotFollowedByAnEmptyOne() {
+        importNdjson(ndjsonRows(BATCH_SIZE));
+
+        assertEquals(List.of(BATCH_SIZE), savedBatchSizes(1));
+        assertEquals(1, progress.size());
+    }
+
+    @Test
+    void rejectedRowsDoNotCountTowardsTheBatch() {
+        String rows = ndjsonRows(BATCH_SIZE - 1) + "{\"name\":\"\"}\n" + NDJSON_ROW + "\n";
+
+        ItemImportResultDto result = importNdjson(rows);
+
+        assertEquals(List.of(BATCH_SIZE), savedBatchSizes(1));
+        assertEquals(List.of(new ItemImportErrorDto(BATCH_SIZE, "Название вещи не может быть пустым.")),
+                result.getErrors());
+    }
+
+    @Test
+    void errorsAreNumberedByFileLineCountingHeaderAndBlankLines() {
+        String csv = "name,description,available,requestId\n"
+                + "дрель,аккумуляторная дрель,true,\n"
+                + "\n"
+                + "пила,ручная пила,yes,\n"
+                + "\"молоток,забивает гвозди,true,\n"
+                + "отвертка,крестовая,true," + REQUEST_ID + "\n"
+                + "стремянка,три ступени,true,99\n";
+
+        ItemImportResultDto result = service.importItems(OWNER_ID, ItemImportFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), progress::add);
+
+        assertEquals(5, result.getProcessed());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(4L, 5L, 7L), result.getErrors().stream()
+                .map(ItemImportErrorDto::getLine)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(new ItemImportProgressDto(5, 2, 3)), progress);
+    }
+
+    @Test
+    void malformedJsonLineIsReportedWithItsNumber() {
+        ItemImportResultDto result = importNdjson(NDJSON_ROW + "\n{\"name\":\n" + NDJSON_ROW + "\n");
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(2, result.getErrors().get(0).getLine());
+    }
+
+    private ItemImportResultDto importNdjson(String rows) {
+        return service.importItems(OWNER_ID, ItemImportFormat.NDJSON,
+                new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)), progress::add);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> savedBatchSizes(int batches) {
+        ArgumentCaptor<Iterable<Item>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(itemRepository, times(batches)).saveAll(saved.capture());
+        return saved.getAllValues().stream()
+                .map(batch -> ((List<Item>) batch).size())
+                .collect(Collectors.toList());
+    }
+
+    private static String ndjsonRows(int count) {
+        return (NDJSON_ROW + "\n").repeat(count);
+    }
+}
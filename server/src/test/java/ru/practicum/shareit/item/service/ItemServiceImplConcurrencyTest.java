@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two services with clocks six days apart share the repositories and are called from many threads at once.
+ * Every answer has to carry the last and next bookings of its own clock, whatever the other threads are doing.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ItemServiceImplConcurrencyTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2031, 3, 3, 12, 0);
+    private static final LocalDateTime SUNDAY = MONDAY.plusDays(6);
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 50;
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private Item item;
+    private Booking monthAgo;
+    private Booking lastWeek;
+    private Booking wednesday;
+    private Booking nextWeek;
+
+    @BeforeAll
+    void seed() {
+        owner = userRepository.save(new User(null, "owner", "concurrency-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "concurrency-booker@mail.ru"));
+        item = itemRepository.save(new Item(null, "дрель", "аккумуляторная дрель", true, owner, null));
+        monthAgo = booking(MONDAY.minusDays(30), booker);
+        lastWeek = booking(MONDAY.minusDays(5), booker);
+        wednesday = booking(MONDAY.plusDays(2), booker);
+        nextWeek = booking(MONDAY.plusDays(9), booker);
+    }
+
+    @Test
+    void concurrentCallsSeeTheirOwnClock() throws Exception {
+        ItemService onMonday = service(MONDAY);
+        ItemService onSunday = service(SUNDAY);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                boolean monday = thread % 2 == 0;
+                Callable<Integer> calls = () -> {
+                    start.await();
+                    for (int call = 0; call < CALLS_PER_THREAD; call++) {
+                        ItemService service = monday ? onMonday : onSunday;
+                        ItemDtoWithBookingsAndComments single = call % 2 == 0
+                                ? transaction.execute(status -> service.get(item.getId(), owner.getId()))
+                                : transaction.execute(status -> service.getViewerItems(owner.getId(), null, null).get(0));
+                        if (monday) {
+                            assertBookings(lastWeek, wednesday, single);
+                        } else {
+                            assertBookings(wednesday, nextWeek, single);
+                        }
+                    }
+                    return CALLS_PER_THREAD;
+                };
+                results.add(executor.submit(calls));
+            }
+            start.countDown();
+            int calls = 0;
+            for (Future<Integer> result : results) {
+                calls += result.get(1, TimeUnit.MINUTES);
+            }
+            assertEquals(THREADS * CALLS_PER_THREAD, calls);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertBookings(Booking last, Booking next, ItemDtoWithBookingsAndComments itemDto) {
+        assertEquals(last.getId(), itemDto.getLastBooking().getId());
+        assertEquals(next.getId(), itemDto.getNextBooking().getId());
+    }
+
+    private ItemService service(LocalDateTime now) {
+        Clock clock = Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new ItemServiceImpl(itemRepository, bookingRepository, userRepository, commentRepository,
+                itemRequestRepository, itemSearchEngine, eventPublisher, clock);
+    }
+
+    private Booking booking(LocalDateTime start, User booker) {
+        return bookingRepository.save(new Booking(null, start, start.plusDays(1), item, booker, BookingStatus.APPROVED));
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.diagnostics.SqlStatistics;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static ru.practicum.shareit.diagnostics.SqlAssertions.assertStatementsAtMost;
+import static ru.practicum.shareit.diagnostics.SqlAssertions.count;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ItemServiceImplQueryCountTest {
+
+    private static final int MANY_ITEMS = 30;
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final Map<Integer, Integer> lastBookings = new HashMap<>();
+    private final Map<Integer, Integer> nextBookings = new HashMap<>();
+    private User booker;
+    private User ownerOfOne;
+    private User ownerOfMany;
+
+    @BeforeAll
+    void seed() {
+        booker = userRepository.save(new User(null, "booker", "query-count-booker@mail.ru"));
+        ownerOfOne = userRepository.save(new User(null, "owner of one", "query-count-one@mail.ru"));
+        ownerOfMany = userRepository.save(new User(null, "owner of many", "query-count-many@mail.ru"));
+        seedItems(ownerOfOne, 1);
+        seedItems(ownerOfMany, MANY_ITEMS);
+    }
+
+    @Test
+    void lastAndNextBookingsDoNotFanOutPerItem() throws Exception {
+        itemService.getViewerItems(ownerOfOne.getId(), null, null);
+        itemService.getViewerItems(ownerOfMany.getId(), null, null);
+
+        SqlStatistics one = count(() -> itemService.getViewerItems(ownerOfOne.getId(), null, null));
+        SqlStatistics many = assertStatementsAtMost(3, () -> itemService.getViewerItems(ownerOfMany.getId(), null, null));
+
+        assertEquals(one.getStatements(), many.getStatements());
+    }
+
+    @Test
+    void lastAndNextBookingsAreResolvedForEveryItem() {
+        List<ItemDtoWithBookingsAndComments> items = itemService.getViewerItems(ownerOfMany.getId(), null, null);
+
+        assertEquals(MANY_ITEMS, items.size());
+        for (ItemDtoWithBookingsAndComments item : items) {
+            assertEquals(lastBookings.get(item.getId()), item.getLastBooking().getId());
+            assertEquals(nextBookings.get(item.getId()), item.getNextBooking().getId());
+        }
+    }
+
+    @Test
+    void onlyOwnerSeesLastAndNextBookings() {
+        Integer itemId = itemRepository.findByOwnerIdOrderById(ownerOfOne.getId()).get(0).getId();
+
+        ItemDtoWithBookingsAndComments item = itemService.get(itemId, booker.getId());
+
+        assertNull(item.getLastBooking());
+        assertNull(item.getNextBooking());
+    }
+
+    private void seedItems(User owner, int itemCount) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            Item item = itemRepository.save(new Item(null, "дрель " + i, "аккумуляторная дрель", true, owner, null));
+            Booking older = new Booking(null, now.minusDays(10), now.minusDays(9), item, booker, BookingStatus.APPROVED);
+            Booking last = new Booking(null, now.minusDays(5), now.minusDays(4), item, booker, BookingStatus.APPROVED);
+            Booking rejected = new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, BookingStatus.REJECTED);
+            Booking next = new Booking(null, now.plusDays(3), now.plusDays(4), item, booker, BookingStatus.APPROVED);
+            Booking later = new Booking(null, now.plusDays(7), now.plusDays(8), item, booker, BookingStatus.APPROVED);
+            bookings.addAll(List.of(older, last, rejected, next, later));
+            bookingRepository.saveAll(List.of(older, last, rejected, next, later));
+            lastBookings.put(item.getId(), last.getId());
+            nextBookings.put(item.getId(), next.getId());
+        }
+    }
+}